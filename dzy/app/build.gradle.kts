@@ -76,6 +76,10 @@ dependencies {
     // 图片加载
     implementation("com.github.bumptech.glide:glide:4.16.0")
     annotationProcessor("com.github.bumptech.glide:compiler:4.16.0")
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        // 只需要预加载器，RecyclerView 版本由上面的依赖决定
+        isTransitive = false
+    }
 
     // GLM大模型SDK
     implementation("cn.bigmodel.openapi:oapi-java-sdk:release-V4-2.0.2")
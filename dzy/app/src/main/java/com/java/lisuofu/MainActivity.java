@@ -11,6 +11,8 @@ import androidx.fragment.app.FragmentTransaction;
 //底部导航栏
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
+import com.java.lisuofu.data.ReadHistoryStore;
+
 //3个fragment
 import com.java.lisuofu.ui.fragment.HomeFragment;
 import com.java.lisuofu.ui.fragment.FavoriteFragment;
@@ -40,6 +42,13 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // 离开前台时提交排队中的阅读记录并等待落库
+        ReadHistoryStore.get(this).flushBlocking(ReadHistoryStore.STOP_FLUSH_TIMEOUT_MS);
+    }
+
     private void initViews() {
         bottomNavigationView = findViewById(R.id.bottom_navigation);
         fragmentManager = getSupportFragmentManager();
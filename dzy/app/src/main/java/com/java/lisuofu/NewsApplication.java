@@ -0,0 +1,30 @@
+package com.java.lisuofu;
+
+import android.app.Application;
+import android.content.pm.ApplicationInfo;
+
+import com.java.lisuofu.data.FavoritesStore;
+import com.java.lisuofu.data.NewsRepository;
+import com.java.lisuofu.data.ReadHistoryStore;
+import com.java.lisuofu.service.HttpTransport;
+import com.java.lisuofu.util.TraceLog;
+
+public class NewsApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // 调试包开启热路径追踪，发布包保持关闭
+        TraceLog.setEnabled((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0);
+
+        // 本地新闻库
+        NewsRepository.init(this);
+        // 提前把阅读记录和收藏加载到内存
+        ReadHistoryStore.get(this);
+        FavoritesStore.get(this);
+
+        // 启动时预热DNS和TLS连接
+        HttpTransport.get().warmUp();
+    }
+}
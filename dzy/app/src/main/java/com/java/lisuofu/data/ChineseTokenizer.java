@@ -0,0 +1,118 @@
+package com.java.lisuofu.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 全文索引用的中文分词
+ * SQLite 自带的 simple 分词器不会切分中文，这里预先切好再写入 FTS 表：
+ * 连续的汉字按相邻两字（bigram）切分，单个汉字保留原样；字母数字串整体作为一个词并转小写。
+ */
+final class ChineseTokenizer {
+
+    private ChineseTokenizer() {
+    }
+
+    /**
+     * 切分文本，按出现顺序返回所有词
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        StringBuilder word = new StringBuilder();
+        int cjkStart = -1;
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            int charCount = Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                if (cjkStart < 0) cjkStart = i;
+            } else {
+                if (cjkStart >= 0) {
+                    addCjkRun(text, cjkStart, i, tokens);
+                    cjkStart = -1;
+                }
+                if (Character.isLetterOrDigit(codePoint)) {
+                    word.appendCodePoint(Character.toLowerCase(codePoint));
+                } else {
+                    flushWord(word, tokens);
+                }
+            }
+            i += charCount;
+        }
+        if (cjkStart >= 0) {
+            addCjkRun(text, cjkStart, length, tokens);
+        }
+        flushWord(word, tokens);
+        return tokens;
+    }
+
+    /**
+     * 生成写入 FTS 表的文本，词之间用空格分隔
+     */
+    static String toIndexText(String... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (String part : parts) {
+            for (String token : tokenize(part)) {
+                if (builder.length() > 0) builder.append(' ');
+                builder.append(token);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 把用户输入转换成 MATCH 表达式：所有词都要命中，单字和字母数字词按前缀匹配
+     * 没有可检索的词时返回 null
+     */
+    static String toMatchQuery(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) return null;
+
+        StringBuilder builder = new StringBuilder();
+        for (String token : tokens) {
+            if (builder.length() > 0) builder.append(' ');
+            builder.append(token);
+            // 单个汉字只会以 bigram 的首字出现在索引中，字母数字允许输入不完整
+            if (token.codePointCount(0, token.length()) == 1 || !isCjk(token.codePointAt(0))) {
+                builder.append('*');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void addCjkRun(String text, int start, int end, List<String> tokens) {
+        int first = start;
+        int firstCount = Character.charCount(text.codePointAt(first));
+        int second = first + firstCount;
+        if (second >= end) {
+            tokens.add(text.substring(first, end));
+            return;
+        }
+        while (second < end) {
+            int secondCount = Character.charCount(text.codePointAt(second));
+            tokens.add(text.substring(first, second + secondCount));
+            first = second;
+            second += secondCount;
+        }
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString().toLowerCase(Locale.ROOT));
+            word.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
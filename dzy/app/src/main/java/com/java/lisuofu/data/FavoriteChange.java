@@ -0,0 +1,21 @@
+package com.java.lisuofu.data;
+
+import com.java.lisuofu.model.NewsItem;
+
+/**
+ * 一次待写入的收藏变更
+ */
+public class FavoriteChange {
+    public final String newsId;
+    public final boolean favorite;
+    public final long favoriteTime;
+    // 收藏的新闻，内容在数据库线程上编码；取消收藏时为空
+    public final NewsItem item;
+
+    public FavoriteChange(String newsId, boolean favorite, long favoriteTime, NewsItem item) {
+        this.newsId = newsId;
+        this.favorite = favorite;
+        this.favoriteTime = favoriteTime;
+        this.item = item;
+    }
+}
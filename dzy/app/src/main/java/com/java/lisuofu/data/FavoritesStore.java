@@ -0,0 +1,268 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.java.lisuofu.model.NewsContent;
+import com.java.lisuofu.model.NewsGson;
+import com.java.lisuofu.model.NewsItem;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 收藏
+ * 内存中维护收藏ID集合，判断是否收藏为O(1)；写入先进入待写队列，
+ * 数据库线程空闲时一次事务批量提交；列表按收藏时间键集分页读取。
+ */
+public final class FavoritesStore {
+    private static final String TAG = "FavoritesStore";
+
+    private static final String PREF_NAME = "news_prefs";
+    // 旧版本保存在 SharedPreferences 中的收藏，首次启动时迁移
+    private static final String KEY_FAVORITES = "favorites";
+    private static final String KEY_FAVORITE_NEWS_DATA = "favorite_news_data";
+
+    private static volatile FavoritesStore instance;
+
+    private final SharedPreferences preferences;
+    private final NewsRepository repository;
+    private final NewsDao newsDao;
+
+    private final Set<String> favoriteIds = new HashSet<>();
+    // 待写入的变更，同一条新闻只保留最后一次
+    private final LinkedHashMap<String, FavoriteChange> pendingChanges = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    private long lastFavoriteTime = 0;
+    // 每次收藏集合变化递增，列表页据此判断是否需要重新加载
+    private volatile int version = 0;
+
+    private FavoritesStore(Context context) {
+        this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.repository = NewsRepository.get();
+        this.newsDao = repository.getDao();
+
+        // 旧数据中的ID先放进内存，数据库加载完成前也能正确判断
+        Type listType = new TypeToken<List<String>>(){}.getType();
+        List<String> legacyIds = NewsGson.get().fromJson(preferences.getString(KEY_FAVORITES, "[]"), listType);
+        if (legacyIds != null) {
+            favoriteIds.addAll(legacyIds);
+        }
+
+        repository.getExecutor().execute(this::load);
+    }
+
+    public static FavoritesStore get(Context context) {
+        if (instance == null) {
+            synchronized (FavoritesStore.class) {
+                if (instance == null) {
+                    instance = new FavoritesStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isFavorite(String newsId) {
+        if (newsId == null) return false;
+        synchronized (favoriteIds) {
+            return favoriteIds.contains(newsId);
+        }
+    }
+
+    /**
+     * 在同一把锁内批量判断收藏，结果按下标写入 out
+     */
+    public void favoriteBits(List<String> newsIds, BitSet out) {
+        synchronized (favoriteIds) {
+            for (int i = 0; i < newsIds.size(); i++) {
+                String newsId = newsIds.get(i);
+                if (newsId != null && favoriteIds.contains(newsId)) {
+                    out.set(i);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (favoriteIds) {
+            return favoriteIds.size();
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void add(NewsItem newsItem) {
+        if (newsItem == null || newsItem.getNewsId() == null) return;
+
+        String newsId = newsItem.getNewsId();
+        long favoriteTime;
+        synchronized (favoriteIds) {
+            if (!favoriteIds.add(newsId)) return;
+            // 收藏时间作为分页键，保证严格递增
+            favoriteTime = Math.max(System.currentTimeMillis(), lastFavoriteTime + 1);
+            lastFavoriteTime = favoriteTime;
+            version++;
+        }
+        newsItem.setFavorite(true);
+        newsItem.setFavoriteTime(favoriteTime);
+        enqueue(new FavoriteChange(newsId, true, favoriteTime, newsItem));
+    }
+
+    public void remove(NewsItem newsItem) {
+        if (newsItem == null || newsItem.getNewsId() == null) return;
+
+        String newsId = newsItem.getNewsId();
+        synchronized (favoriteIds) {
+            if (!favoriteIds.remove(newsId)) return;
+            version++;
+        }
+        newsItem.setFavorite(false);
+        enqueue(new FavoriteChange(newsId, false, 0, null));
+    }
+
+    /**
+     * 按收藏时间从新到旧读取一页，before 传 Long.MAX_VALUE 表示第一页；回调在数据库线程
+     */
+    public void loadPage(long before, int pageSize, NewsRepository.LoadCallback callback) {
+        repository.getExecutor().execute(() -> {
+            List<NewsItem> items;
+            try {
+                items = newsDao.getFavoritesBefore(before, pageSize);
+            } catch (Exception e) {
+                Log.e(TAG, "读取收藏失败", e);
+                items = new ArrayList<>();
+            }
+            callback.onLoaded(items);
+        });
+    }
+
+    private void enqueue(FavoriteChange change) {
+        boolean schedule;
+        synchronized (pendingChanges) {
+            pendingChanges.remove(change.newsId);
+            pendingChanges.put(change.newsId, change);
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            repository.getExecutor().execute(this::flush);
+        }
+    }
+
+    /**
+     * 数据库线程：把排队期间积累的所有变更放在一个事务里提交
+     */
+    private void flush() {
+        List<FavoriteChange> changes;
+        synchronized (pendingChanges) {
+            changes = new ArrayList<>(pendingChanges.values());
+            pendingChanges.clear();
+            flushScheduled = false;
+        }
+        if (changes.isEmpty()) return;
+
+        try {
+            applyChanges(changes);
+            Log.d(TAG, "提交收藏变更: " + changes.size() + " 条");
+        } catch (Exception e) {
+            Log.e(TAG, "保存收藏失败", e);
+        }
+    }
+
+    /**
+     * 数据库线程：编码新收藏的新闻内容，连同收藏状态在一个事务里写入
+     */
+    private void applyChanges(List<FavoriteChange> changes) {
+        List<NewsContent> contents = new ArrayList<>();
+        for (FavoriteChange change : changes) {
+            if (change.favorite && change.item != null) {
+                contents.add(NewsContent.from(change.item));
+            }
+        }
+        newsDao.applyFavoriteChanges(contents, changes);
+    }
+
+    /**
+     * 数据库线程：迁移旧数据并加载收藏ID
+     */
+    private void load() {
+        try {
+            migrateFromPreferences();
+
+            List<String> ids = newsDao.getFavoriteIds();
+            long latest = newsDao.getLatestFavoriteTime();
+            synchronized (favoriteIds) {
+                // 以数据库为准，再叠加加载期间尚未落库的变更
+                Set<String> merged = new HashSet<>(ids);
+                synchronized (pendingChanges) {
+                    for (FavoriteChange change : pendingChanges.values()) {
+                        if (change.favorite) {
+                            merged.add(change.newsId);
+                        } else {
+                            merged.remove(change.newsId);
+                        }
+                    }
+                }
+                if (!merged.equals(favoriteIds)) {
+                    favoriteIds.clear();
+                    favoriteIds.addAll(merged);
+                    version++;
+                }
+                lastFavoriteTime = Math.max(lastFavoriteTime, latest);
+            }
+            Log.d(TAG, "加载收藏: " + ids.size() + " 条");
+        } catch (Exception e) {
+            Log.e(TAG, "加载收藏失败", e);
+        }
+    }
+
+    private void migrateFromPreferences() {
+        if (!preferences.contains(KEY_FAVORITE_NEWS_DATA) && !preferences.contains(KEY_FAVORITES)) return;
+
+        Gson gson = NewsGson.get();
+        Type listType = new TypeToken<List<String>>(){}.getType();
+        Type newsListType = new TypeToken<List<NewsItem>>(){}.getType();
+
+        List<String> ids = gson.fromJson(preferences.getString(KEY_FAVORITES, "[]"), listType);
+        List<NewsItem> items = gson.fromJson(preferences.getString(KEY_FAVORITE_NEWS_DATA, "[]"), newsListType);
+        if (ids == null) ids = Collections.emptyList();
+        if (items == null) items = Collections.emptyList();
+
+        Map<String, NewsItem> itemsById = new HashMap<>();
+        for (NewsItem item : items) {
+            if (item != null && item.getNewsId() != null) {
+                itemsById.put(item.getNewsId(), item);
+            }
+        }
+
+        // 旧列表按收藏先后追加，越靠后越新
+        long baseTime = System.currentTimeMillis() - ids.size();
+        List<FavoriteChange> changes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            NewsItem item = itemsById.get(ids.get(i));
+            if (item == null) continue;
+            changes.add(new FavoriteChange(item.getNewsId(), true, baseTime + i, item));
+        }
+        if (!changes.isEmpty()) {
+            applyChanges(changes);
+        }
+
+        preferences.edit()
+                .remove(KEY_FAVORITES)
+                .remove(KEY_FAVORITE_NEWS_DATA)
+                .apply();
+        Log.d(TAG, "迁移旧收藏: " + changes.size() + " 条");
+    }
+}
@@ -0,0 +1,124 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import com.java.lisuofu.model.NewsBinaryCodec;
+import com.java.lisuofu.model.NewsItem;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 首页快照
+ * 每个分类最后展示的一页新闻以二进制格式保存为一个文件，冷启动或切换分类时先显示快照，
+ * 网络结果返回后再替换。读写都在单独的线程上执行，不和数据库线程排队。
+ */
+public final class FeedSnapshotStore {
+    private static final String TAG = "FeedSnapshotStore";
+
+    private static final String DIR_NAME = "feed_snapshots";
+    public static final int MAX_ITEMS = 30;
+    // 太旧的快照不再显示
+    private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(3);
+
+    private static volatile FeedSnapshotStore instance;
+
+    private final File directory;
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "feed-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FeedSnapshotStore(Context context) {
+        this.directory = new File(context.getFilesDir(), DIR_NAME);
+    }
+
+    public static FeedSnapshotStore get(Context context) {
+        if (instance == null) {
+            synchronized (FeedSnapshotStore.class) {
+                if (instance == null) {
+                    instance = new FeedSnapshotStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 保存分类当前展示的前 MAX_ITEMS 条新闻
+     */
+    public void save(String category, List<NewsItem> items) {
+        if (category == null || items == null || items.isEmpty()) return;
+        List<NewsItem> snapshot = new ArrayList<>(items.subList(0, Math.min(items.size(), MAX_ITEMS)));
+
+        ioExecutor.execute(() -> {
+            long start = SystemClock.elapsedRealtime();
+            File file = fileFor(category);
+            File temp = new File(directory, file.getName() + ".tmp");
+            try {
+                byte[] data = NewsBinaryCodec.encodeItems(snapshot);
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("无法创建目录: " + directory);
+                }
+                // 先写临时文件再重命名，进程被杀时不会留下半个快照
+                try (FileOutputStream out = new FileOutputStream(temp)) {
+                    out.write(data);
+                    out.getFD().sync();
+                }
+                if (!temp.renameTo(file)) {
+                    throw new IOException("重命名失败: " + temp);
+                }
+                Log.d(TAG, "保存快照 " + category + ": " + snapshot.size() + " 条, " + data.length
+                        + " 字节, 耗时 " + (SystemClock.elapsedRealtime() - start) + "ms");
+            } catch (Exception e) {
+                Log.e(TAG, "保存快照失败: " + category, e);
+                temp.delete();
+            }
+        });
+    }
+
+    /**
+     * 读取分类的快照，没有或已过期时回调空列表；回调在快照线程
+     */
+    public void load(String category, NewsRepository.LoadCallback callback) {
+        ioExecutor.execute(() -> {
+            List<NewsItem> items = new ArrayList<>();
+            File file = fileFor(category);
+            if (file.isFile() && System.currentTimeMillis() - file.lastModified() <= MAX_AGE_MS) {
+                long start = SystemClock.elapsedRealtime();
+                try {
+                    items = NewsBinaryCodec.decodeItems(Files.readAllBytes(file.toPath()));
+                    Log.d(TAG, "读取快照 " + category + ": " + items.size() + " 条, 耗时 "
+                            + (SystemClock.elapsedRealtime() - start) + "ms");
+                } catch (Exception e) {
+                    // 格式损坏或版本不符，删除后等待下次保存
+                    Log.e(TAG, "读取快照失败: " + category, e);
+                    file.delete();
+                    items = new ArrayList<>();
+                }
+            }
+            callback.onLoaded(items);
+        });
+    }
+
+    /**
+     * 分类名转成十六进制作为文件名，避免中文文件名
+     */
+    private File fileFor(String category) {
+        StringBuilder name = new StringBuilder("feed_");
+        for (byte b : category.getBytes(StandardCharsets.UTF_8)) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16));
+            name.append(Character.forDigit(b & 0xF, 16));
+        }
+        return new File(directory, name.append(".bin").toString());
+    }
+}
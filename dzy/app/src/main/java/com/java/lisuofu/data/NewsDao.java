@@ -0,0 +1,201 @@
+package com.java.lisuofu.data;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Update;
+import com.java.lisuofu.model.NewsContent;
+import com.java.lisuofu.model.NewsItem;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Dao
+public abstract class NewsDao {
+
+    // IN 列表每批的参数个数，API 28~30 的 SQLite 最多允许 999 个绑定参数
+    private static final int MAX_IN_LIST = 900;
+
+    // ========== 写入 ==========
+
+    @Insert(entity = NewsItem.class, onConflict = OnConflictStrategy.IGNORE)
+    protected abstract long[] insertContentIfAbsent(List<NewsContent> contents);
+
+    @Update(entity = NewsItem.class)
+    protected abstract void updateContent(List<NewsContent> contents);
+
+    /**
+     * 写入接口返回的新闻：新记录直接插入，已存在的只更新内容列，保留已读、收藏等本地状态
+     */
+    @Transaction
+    public void upsertContent(List<NewsContent> contents) {
+        long[] rowIds = insertContentIfAbsent(contents);
+        List<NewsContent> existing = new ArrayList<>();
+        for (int i = 0; i < rowIds.length; i++) {
+            if (rowIds[i] == -1) {
+                existing.add(contents.get(i));
+            }
+        }
+        if (!existing.isEmpty()) {
+            updateContent(existing);
+        }
+        indexContent(contents);
+    }
+
+    @Insert
+    protected abstract void insertSearchEntries(List<NewsSearchEntry> entries);
+
+    @Query("DELETE FROM news_fts WHERE rowid IN (:rowIds)")
+    protected abstract void deleteSearchEntries(List<Long> rowIds);
+
+    /**
+     * 重建这批新闻的全文索引，需在 upsertContent 的事务内调用
+     */
+    private void indexContent(List<NewsContent> contents) {
+        Map<String, NewsContent> byId = new HashMap<>();
+        for (NewsContent content : contents) {
+            byId.put(content.newsId, content);
+        }
+        if (byId.isEmpty()) return;
+
+        List<Long> rowIds = new ArrayList<>(byId.size());
+        List<NewsSearchEntry> entries = new ArrayList<>(byId.size());
+        for (NewsContent content : byId.values()) {
+            NewsSearchEntry entry = NewsSearchEntry.create(content.newsId, content.title,
+                    content.content, content.publisher, content.keywords);
+            rowIds.add(entry.rowId);
+            entries.add(entry);
+        }
+        for (List<Long> batch : batches(rowIds)) {
+            deleteSearchEntries(batch);
+        }
+        insertSearchEntries(entries);
+    }
+
+    @Query("UPDATE news_items SET isRead = 1, readTime = :readTime WHERE newsId = :newsId")
+    public abstract void markRead(String newsId, long readTime);
+
+    @Query("UPDATE news_items SET isRead = 0, readTime = 0 WHERE newsId IN (:newsIds)")
+    protected abstract void clearReadBatch(List<String> newsIds);
+
+    /**
+     * 清除这些新闻的已读状态，ID 较多时分批执行
+     */
+    @Transaction
+    public void clearRead(List<String> newsIds) {
+        for (List<String> batch : batches(newsIds)) {
+            clearReadBatch(batch);
+        }
+    }
+
+    @Query("UPDATE news_items SET isRead = 0, readTime = 0 WHERE isRead = 1 AND readTime < :cutoff")
+    public abstract int clearReadBefore(long cutoff);
+
+    /**
+     * 一个事务内提交一批阅读记录：先清除被淘汰的记录，再写入内容并标记已读
+     */
+    @Transaction
+    public void applyReads(List<String> clearedIds, List<NewsContent> contents, List<ReadRecord> records) {
+        if (!clearedIds.isEmpty()) {
+            clearRead(clearedIds);
+        }
+        if (!contents.isEmpty()) {
+            upsertContent(contents);
+        }
+        for (ReadRecord record : records) {
+            markRead(record.newsId, record.readTime);
+        }
+    }
+
+    // 可淘汰的缓存：未读、未收藏、没有保存摘要的新闻
+    @Query("SELECT newsId FROM news_items WHERE isRead = 0 AND isFavorite = 0 AND aiSummary IS NULL " +
+            "ORDER BY publishTime DESC LIMIT -1 OFFSET :keep")
+    protected abstract List<String> getEvictableIds(int keep);
+
+    @Query("DELETE FROM news_items WHERE newsId IN (:newsIds) AND isRead = 0 AND isFavorite = 0")
+    protected abstract int deleteNews(List<String> newsIds);
+
+    /**
+     * 淘汰可淘汰缓存中除最新 keep 条以外的新闻及其全文索引，返回删除的条数
+     */
+    @Transaction
+    public int trimCache(int keep) {
+        List<String> evicted = getEvictableIds(keep);
+        int deleted = 0;
+        for (List<String> batch : batches(evicted)) {
+            List<Long> rowIds = new ArrayList<>(batch.size());
+            for (String newsId : batch) {
+                rowIds.add(NewsSearchEntry.rowIdFor(newsId));
+            }
+            deleteSearchEntries(rowIds);
+            deleted += deleteNews(batch);
+        }
+        return deleted;
+    }
+
+    @Query("UPDATE news_items SET isFavorite = :favorite, favoriteTime = :favoriteTime WHERE newsId = :newsId")
+    public abstract void setFavorite(String newsId, boolean favorite, long favoriteTime);
+
+    /**
+     * 一个事务内应用一批收藏变更，新收藏的新闻先写入内容
+     */
+    @Transaction
+    public void applyFavoriteChanges(List<NewsContent> contents, List<FavoriteChange> changes) {
+        if (!contents.isEmpty()) {
+            upsertContent(contents);
+        }
+        for (FavoriteChange change : changes) {
+            setFavorite(change.newsId, change.favorite, change.favorite ? change.favoriteTime : 0);
+        }
+    }
+
+    // ========== 查询 ==========
+
+    @Query("SELECT * FROM news_items ORDER BY publishTime DESC LIMIT :limit OFFSET :offset")
+    public abstract List<NewsItem> getLatest(int limit, int offset);
+
+    @Query("SELECT * FROM news_items WHERE category = :category ORDER BY publishTime DESC LIMIT :limit OFFSET :offset")
+    public abstract List<NewsItem> getLatestByCategory(String category, int limit, int offset);
+
+    /**
+     * 收藏分页：按收藏时间从新到旧，取 favoriteTime 小于 before 的一页（键集分页，不随偏移量变慢）
+     */
+    @Query("SELECT * FROM news_items WHERE isFavorite = 1 AND favoriteTime < :before ORDER BY favoriteTime DESC LIMIT :limit")
+    public abstract List<NewsItem> getFavoritesBefore(long before, int limit);
+
+    @Query("SELECT newsId FROM news_items WHERE isFavorite = 1")
+    public abstract List<String> getFavoriteIds();
+
+    @Query("SELECT MAX(favoriteTime) FROM news_items WHERE isFavorite = 1")
+    public abstract long getLatestFavoriteTime();
+
+    @Query("SELECT * FROM news_items WHERE isRead = 1 ORDER BY readTime DESC LIMIT :limit")
+    public abstract List<NewsItem> getReadHistory(int limit);
+
+    @Query("SELECT newsId, readTime FROM news_items WHERE isRead = 1 ORDER BY readTime ASC")
+    public abstract List<ReadRecord> getReadRecords();
+
+    /**
+     * 全文检索本地新闻，match 为 ChineseTokenizer 生成的 MATCH 表达式，按发布时间从新到旧
+     */
+    @Query("SELECT news_items.* FROM news_items JOIN news_fts ON news_items.newsId = news_fts.newsId " +
+            "WHERE news_fts MATCH :match ORDER BY news_items.publishTime DESC LIMIT :limit")
+    public abstract List<NewsItem> search(String match, int limit);
+
+    @Query("SELECT * FROM news_items WHERE newsId = :newsId")
+    public abstract NewsItem getById(String newsId);
+
+    /**
+     * 把 IN 列表的参数切成不超过 MAX_IN_LIST 的批次
+     */
+    private static <T> List<List<T>> batches(List<T> values) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += MAX_IN_LIST) {
+            batches.add(values.subList(start, Math.min(values.size(), start + MAX_IN_LIST)));
+        }
+        return batches;
+    }
+}
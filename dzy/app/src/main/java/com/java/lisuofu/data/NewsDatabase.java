@@ -0,0 +1,34 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import com.java.lisuofu.model.NewsItem;
+
+/**
+ * 本地新闻数据库
+ */
+@Database(entities = {NewsItem.class, NewsSearchEntry.class, SummaryEntry.class}, version = 6, exportSchema = false)
+public abstract class NewsDatabase extends RoomDatabase {
+    private static final String DB_NAME = "news.db";
+
+    private static volatile NewsDatabase instance;
+
+    public abstract NewsDao newsDao();
+
+    public abstract SummaryDao summaryDao();
+
+    public static NewsDatabase get(Context context) {
+        if (instance == null) {
+            synchronized (NewsDatabase.class) {
+                if (instance == null) {
+                    instance = Room.databaseBuilder(context.getApplicationContext(), NewsDatabase.class, DB_NAME)
+                            .addMigrations(NewsMigrations.ALL)
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,114 @@
+package com.java.lisuofu.data;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * 数据库版本迁移
+ */
+final class NewsMigrations {
+
+    private NewsMigrations() {
+    }
+
+    /**
+     * 1 -> 2：增加收藏时间列，收藏索引改为 (isFavorite, favoriteTime) 以支持按收藏时间分页
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `news_items` ADD COLUMN `favoriteTime` INTEGER NOT NULL DEFAULT 0");
+            // 已有收藏没有收藏时间，用 rowid 填充，保证分页键唯一
+            db.execSQL("UPDATE `news_items` SET `favoriteTime` = `rowid` WHERE `isFavorite` = 1");
+            db.execSQL("DROP INDEX IF EXISTS `index_news_items_isFavorite`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_news_items_isFavorite_favoriteTime` ON `news_items` (`isFavorite`, `favoriteTime`)");
+        }
+    };
+
+    /**
+     * 2 -> 3：嵌套列表列改为二进制编码，列类型由 TEXT 改为 BLOB
+     * SQLite 不能修改列类型，只能重建表；已有的JSON值原样复制，读取时由 NewsConverters 兼容
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `news_items_new` (" +
+                    "`newsId` TEXT NOT NULL, `title` TEXT, `content` TEXT, `image` TEXT, `video` TEXT, " +
+                    "`publisher` TEXT, `category` TEXT, `publishTime` TEXT, `crawlTime` TEXT, `language` TEXT, " +
+                    "`keywords` BLOB, `persons` BLOB, `organizations` BLOB, `locations` BLOB, " +
+                    "`timeReferences` BLOB, `locationReferences` BLOB, `personReferences` BLOB, " +
+                    "`isRead` INTEGER NOT NULL DEFAULT 0, `isFavorite` INTEGER NOT NULL DEFAULT 0, " +
+                    "`readTime` INTEGER NOT NULL DEFAULT 0, `favoriteTime` INTEGER NOT NULL DEFAULT 0, " +
+                    "`aiSummary` TEXT, PRIMARY KEY(`newsId`))");
+            db.execSQL("INSERT INTO `news_items_new` SELECT " +
+                    "`newsId`, `title`, `content`, `image`, `video`, `publisher`, `category`, `publishTime`, " +
+                    "`crawlTime`, `language`, `keywords`, `persons`, `organizations`, `locations`, " +
+                    "`timeReferences`, `locationReferences`, `personReferences`, " +
+                    "`isRead`, `isFavorite`, `readTime`, `favoriteTime`, `aiSummary` FROM `news_items`");
+            db.execSQL("DROP TABLE `news_items`");
+            db.execSQL("ALTER TABLE `news_items_new` RENAME TO `news_items`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_news_items_category` ON `news_items` (`category`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_news_items_publishTime` ON `news_items` (`publishTime`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_news_items_isFavorite_favoriteTime` ON `news_items` (`isFavorite`, `favoriteTime`)");
+        }
+    };
+
+    /**
+     * 3 -> 4：新增全文索引表 news_fts，并为已缓存的新闻建立索引
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `news_fts` USING FTS4(" +
+                    "`newsId` TEXT, `title` TEXT, `body` TEXT, notindexed=`newsId`)");
+            rebuildSearchIndex(db);
+        }
+    };
+
+    /**
+     * 4 -> 5：新增摘要缓存表，旧的 SharedPreferences 摘要由 SummaryCache 在首次启动时迁移
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `summaries` (`contentHash` TEXT NOT NULL, `summary` TEXT, " +
+                    "`length` INTEGER NOT NULL, `lastAccess` INTEGER NOT NULL, PRIMARY KEY(`contentHash`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_summaries_lastAccess` ON `summaries` (`lastAccess`)");
+        }
+    };
+
+    /**
+     * 5 -> 6：全文索引改为按 newsId 关联，旧索引的 rowid 取自 news_items，全部重建
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DELETE FROM `news_fts`");
+            rebuildSearchIndex(db);
+        }
+    };
+
+    static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6
+    };
+
+    /**
+     * 为 news_items 中的全部新闻建立全文索引
+     */
+    private static void rebuildSearchIndex(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("SELECT `newsId`, `title`, `content`, `publisher`, `keywords` FROM `news_items`")) {
+            while (cursor.moveToNext()) {
+                NewsSearchEntry entry = NewsSearchEntry.create(cursor.getString(0), cursor.getString(1),
+                        cursor.getString(2), cursor.getString(3), cursor.getBlob(4));
+                db.execSQL("INSERT INTO `news_fts` (`rowid`, `newsId`, `title`, `body`) VALUES (?, ?, ?, ?)",
+                        new Object[]{entry.rowId, entry.newsId, entry.title, entry.body});
+            }
+        }
+    }
+}
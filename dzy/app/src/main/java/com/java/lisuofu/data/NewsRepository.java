@@ -0,0 +1,169 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import com.java.lisuofu.model.NewsContent;
+import com.java.lisuofu.model.NewsItem;
+import com.java.lisuofu.util.TraceLog;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 新闻本地存储
+ * 网络获取的新闻写穿到数据库，离线时首页可以从本地索引查询；
+ * 所有数据库操作都在单独的串行线程上执行，回调也在该线程，界面需要自行切回主线程。
+ * 已读、收藏之外的缓存最多保留 MAX_CACHED_NEWS 条，启动时和每写入若干页后淘汰较旧的新闻
+ */
+public final class NewsRepository {
+    private static final String TAG = "NewsRepository";
+
+    // 未读、未收藏的新闻最多缓存的条数
+    private static final int MAX_CACHED_NEWS = 2000;
+    // 每写入多少页检查一次缓存大小
+    private static final int TRIM_EVERY_SAVES = 20;
+
+    private static volatile NewsRepository instance;
+
+    private final NewsDao newsDao;
+    private final SummaryDao summaryDao;
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "news-db");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 只在数据库线程上读写
+    private int savesSinceTrim = 0;
+
+    private NewsRepository(Context context) {
+        NewsDatabase database = NewsDatabase.get(context);
+        this.newsDao = database.newsDao();
+        this.summaryDao = database.summaryDao();
+        dbExecutor.execute(this::trimCache);
+    }
+
+    /**
+     * 在 Application 启动时初始化
+     */
+    public static void init(Context context) {
+        if (instance == null) {
+            synchronized (NewsRepository.class) {
+                if (instance == null) {
+                    instance = new NewsRepository(context.getApplicationContext());
+                }
+            }
+        }
+    }
+
+    public static NewsRepository get() {
+        if (instance == null) {
+            throw new IllegalStateException("NewsRepository 尚未初始化");
+        }
+        return instance;
+    }
+
+    public NewsDao getDao() {
+        return newsDao;
+    }
+
+    public SummaryDao getSummaryDao() {
+        return summaryDao;
+    }
+
+    public ExecutorService getExecutor() {
+        return dbExecutor;
+    }
+
+    /**
+     * 保存接口返回的一页新闻，不覆盖本地的已读、收藏状态
+     */
+    public void saveFetched(List<NewsItem> items) {
+        if (items == null || items.isEmpty()) return;
+        List<NewsItem> snapshot = new ArrayList<>(items);
+
+        dbExecutor.execute(() -> {
+            try {
+                List<NewsContent> contents = new ArrayList<>(snapshot.size());
+                for (NewsItem item : snapshot) {
+                    if (item.getNewsId() != null) {
+                        contents.add(NewsContent.from(item));
+                    }
+                }
+                newsDao.upsertContent(contents);
+            } catch (Exception e) {
+                Log.e(TAG, "保存新闻失败", e);
+            }
+            if (++savesSinceTrim >= TRIM_EVERY_SAVES) {
+                trimCache();
+            }
+        });
+    }
+
+    /**
+     * 数据库线程：淘汰超出上限的旧缓存
+     */
+    private void trimCache() {
+        savesSinceTrim = 0;
+        try {
+            int deleted = newsDao.trimCache(MAX_CACHED_NEWS);
+            if (deleted > 0) {
+                Log.d(TAG, "淘汰旧缓存: " + deleted + " 条");
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "淘汰旧缓存失败", e);
+        }
+    }
+
+    /**
+     * 从本地查询分类下最新的新闻，"全部"不按分类过滤
+     */
+    public void loadFeed(String category, int limit, int offset, LoadCallback callback) {
+        dbExecutor.execute(() -> {
+            List<NewsItem> items;
+            try {
+                if (category == null || "全部".equals(category)) {
+                    items = newsDao.getLatest(limit, offset);
+                } else {
+                    items = newsDao.getLatestByCategory(category, limit, offset);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "读取本地新闻失败", e);
+                items = new ArrayList<>();
+            }
+            callback.onLoaded(items);
+        });
+    }
+
+    /**
+     * 在本地缓存（浏览过、已读、收藏的新闻）中全文检索关键词，不依赖网络
+     */
+    public void search(String query, int limit, LoadCallback callback) {
+        String match = ChineseTokenizer.toMatchQuery(query);
+        if (match == null) {
+            dbExecutor.execute(() -> callback.onLoaded(new ArrayList<>()));
+            return;
+        }
+
+        dbExecutor.execute(() -> {
+            List<NewsItem> items;
+            long start = SystemClock.elapsedRealtime();
+            try {
+                items = newsDao.search(match, limit);
+            } catch (Exception e) {
+                Log.e(TAG, "本地检索失败: " + query, e);
+                items = new ArrayList<>();
+            }
+            if (TraceLog.isEnabled()) {
+                TraceLog.d(TAG, "本地检索 [{}] 命中 {} 条, 耗时 {}ms",
+                        match, items.size(), SystemClock.elapsedRealtime() - start);
+            }
+            callback.onLoaded(items);
+        });
+    }
+
+    public interface LoadCallback {
+        void onLoaded(List<NewsItem> items);
+    }
+}
@@ -0,0 +1,62 @@
+package com.java.lisuofu.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.PrimaryKey;
+import com.java.lisuofu.model.NewsConverters;
+import com.java.lisuofu.model.NewsItem;
+import java.util.List;
+
+/**
+ * 新闻全文索引（FTS4 虚拟表）
+ * 查询时按 newsId 与 news_items 关联；news_items 的主键是文本，其隐式 rowid 可能在 VACUUM 后变化，不能作为关联键。
+ * rowid 取 newsId 的64位哈希，只用于按ID删除旧索引时走主键而不必扫描整表；
+ * title、body 存放 ChineseTokenizer 切好的词，body 包含正文、来源和关键词
+ */
+@Fts4(notIndexed = {"newsId"})
+@Entity(tableName = "news_fts")
+public class NewsSearchEntry {
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    public long rowId;
+
+    public String newsId;
+    public String title;
+    public String body;
+
+    static NewsSearchEntry create(String newsId, String title, String content,
+                                  String publisher, byte[] keywords) {
+        NewsSearchEntry entry = new NewsSearchEntry();
+        entry.rowId = rowIdFor(newsId);
+        entry.newsId = newsId;
+        entry.title = ChineseTokenizer.toIndexText(title);
+        entry.body = ChineseTokenizer.toIndexText(content, publisher, keywordWords(keywords));
+        return entry;
+    }
+
+    /**
+     * newsId 对应的索引 rowid（FNV-1a 64位哈希），与 news_items 的 rowid 无关
+     */
+    static long rowIdFor(String newsId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < newsId.length(); i++) {
+            hash ^= newsId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static String keywordWords(byte[] keywords) {
+        List<NewsItem.Keyword> list = NewsConverters.toKeywordsList(keywords);
+        if (list == null || list.isEmpty()) return null;
+        StringBuilder builder = new StringBuilder();
+        for (NewsItem.Keyword keyword : list) {
+            if (keyword != null && keyword.getWord() != null) {
+                builder.append(keyword.getWord()).append(' ');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import com.java.lisuofu.model.NewsItem;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 新闻已读/收藏状态的批量查询
+ * 一页新闻只取一次快照，按位置返回两个 BitSet，数据来自阅读历史和收藏的内存索引
+ */
+public final class NewsStatusIndex {
+
+    private static volatile NewsStatusIndex instance;
+
+    private final ReadHistoryStore readHistory;
+    private final FavoritesStore favorites;
+
+    private NewsStatusIndex(Context context) {
+        this.readHistory = ReadHistoryStore.get(context);
+        this.favorites = FavoritesStore.get(context);
+    }
+
+    public static NewsStatusIndex get(Context context) {
+        if (instance == null) {
+            synchronized (NewsStatusIndex.class) {
+                if (instance == null) {
+                    instance = new NewsStatusIndex(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 批量查询一页新闻的状态，结果与 newsIds 按下标对应
+     */
+    public Status lookup(List<String> newsIds) {
+        Status status = new Status(newsIds.size());
+        readHistory.readBits(newsIds, status.read);
+        favorites.favoriteBits(newsIds, status.favorite);
+        return status;
+    }
+
+    /**
+     * 批量查询并写回到新闻对象
+     */
+    public void applyTo(List<NewsItem> newsItems) {
+        List<String> newsIds = new ArrayList<>(newsItems.size());
+        for (NewsItem item : newsItems) {
+            newsIds.add(item.getNewsId());
+        }
+        Status status = lookup(newsIds);
+        for (int i = 0; i < newsItems.size(); i++) {
+            NewsItem item = newsItems.get(i);
+            if (item.getNewsId() != null) {
+                item.setRead(status.isRead(i));
+                item.setFavorite(status.isFavorite(i));
+            }
+        }
+    }
+
+    public static final class Status {
+        final BitSet read;
+        final BitSet favorite;
+
+        Status(int size) {
+            this.read = new BitSet(size);
+            this.favorite = new BitSet(size);
+        }
+
+        public boolean isRead(int index) {
+            return read.get(index);
+        }
+
+        public boolean isFavorite(int index) {
+            return favorite.get(index);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.java.lisuofu.model.NewsContent;
+import com.java.lisuofu.model.NewsGson;
+import com.java.lisuofu.model.NewsItem;
+import com.java.lisuofu.util.TraceLog;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 阅读历史
+ * 内存中按阅读时间先后维护 newsId -> 阅读时间，isRead 和添加记录都是O(1)；
+ * 持久化落在 news_items 表的 isRead/readTime 列：阅读事件先进入内存队列，
+ * 延迟一段时间后在数据库线程上合并成一个事务写入，页面 onStop 时调用 flushBlocking 等待提交完成。
+ * 保留条数和保留天数可配置，超出的记录按阅读时间从旧到新淘汰。
+ */
+public final class ReadHistoryStore {
+    private static final String TAG = "ReadHistoryStore";
+
+    private static final String PREF_NAME = "news_prefs";
+    private static final String KEY_MAX_ENTRIES = "history_max_entries";
+    private static final String KEY_MAX_AGE_DAYS = "history_max_age_days";
+
+    // 旧版本保存在 SharedPreferences 中的阅读记录，首次启动时迁移
+    private static final String KEY_READ_NEWS = "read_news";
+    private static final String KEY_READ_NEWS_DATA = "read_news_data";
+    private static final String KEY_READ_TIMES = "read_times";
+
+    // 阅读事件在队列中最多等待的时间
+    private static final long FLUSH_DELAY_MS = 2000;
+    // 页面 onStop 时等待阅读记录落库的最长时间
+    public static final long STOP_FLUSH_TIMEOUT_MS = 500;
+
+    public static final int DEFAULT_MAX_ENTRIES = 500;
+    // 0 表示不按时间淘汰
+    public static final int DEFAULT_MAX_AGE_DAYS = 0;
+
+    private static volatile ReadHistoryStore instance;
+
+    private final SharedPreferences preferences;
+    private final NewsRepository repository;
+    private final NewsDao newsDao;
+
+    // 按阅读时间从旧到新排列
+    private final LinkedHashMap<String, Long> readTimes = new LinkedHashMap<>();
+
+    // 尚未落库的阅读记录和淘汰，同一新闻只保留最后一次阅读
+    private final LinkedHashMap<String, PendingRead> pendingReads = new LinkedHashMap<>();
+    private final LinkedHashSet<String> pendingEvictions = new LinkedHashSet<>();
+    private boolean flushScheduled = false;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushTask = this::flushAsync;
+
+    private volatile int maxEntries;
+    // 每次阅读记录增减递增，历史页据此判断是否需要重新加载
+    private volatile int version = 0;
+    private volatile int maxAgeDays;
+
+    private ReadHistoryStore(Context context) {
+        this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.repository = NewsRepository.get();
+        this.newsDao = repository.getDao();
+        this.maxEntries = preferences.getInt(KEY_MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+        this.maxAgeDays = preferences.getInt(KEY_MAX_AGE_DAYS, DEFAULT_MAX_AGE_DAYS);
+
+        // 数据库线程是串行的，之后的写入都会排在加载之后
+        repository.getExecutor().execute(this::load);
+    }
+
+    public static ReadHistoryStore get(Context context) {
+        if (instance == null) {
+            synchronized (ReadHistoryStore.class) {
+                if (instance == null) {
+                    instance = new ReadHistoryStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 记录一次阅读，重复阅读只更新时间
+     */
+    public void addReadRecord(NewsItem newsItem) {
+        if (newsItem == null || newsItem.getNewsId() == null) return;
+
+        long start = System.nanoTime();
+        String newsId = newsItem.getNewsId();
+        long readTime = System.currentTimeMillis();
+        List<String> evicted;
+        synchronized (readTimes) {
+            readTimes.remove(newsId);
+            readTimes.put(newsId, readTime);
+            evicted = trimLocked(readTime);
+            version++;
+        }
+
+        boolean schedule;
+        synchronized (pendingReads) {
+            pendingEvictions.remove(newsId);
+            pendingReads.remove(newsId);
+            pendingReads.put(newsId, new PendingRead(newsItem, readTime));
+            schedule = enqueueEvictionsLocked(evicted);
+        }
+        if (schedule) {
+            mainHandler.postDelayed(flushTask, FLUSH_DELAY_MS);
+        }
+
+        if (TraceLog.isEnabled()) {
+            TraceLog.d(TAG, "addReadRecord 耗时 {}us", (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    /**
+     * 立即提交队列中的阅读记录并等待落库，在页面 onStop 时调用，避免进程随后被杀时丢失。
+     * 超时后不再等待，写入仍会在数据库线程上完成
+     */
+    public void flushBlocking(long timeoutMs) {
+        mainHandler.removeCallbacks(flushTask);
+        Future<?> future = repository.getExecutor().submit(this::writePending);
+        try {
+            future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Log.w(TAG, "提交阅读记录超过 " + timeoutMs + "ms，转为后台完成");
+        } catch (ExecutionException e) {
+            Log.e(TAG, "提交阅读记录失败", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 延迟提交的定时任务：把队列中的阅读记录交给数据库线程，不等待完成
+     */
+    private void flushAsync() {
+        repository.getExecutor().execute(this::writePending);
+    }
+
+    public boolean isRead(String newsId) {
+        if (newsId == null) return false;
+        synchronized (readTimes) {
+            return readTimes.containsKey(newsId);
+        }
+    }
+
+    /**
+     * 在同一把锁内批量判断已读，结果按下标写入 out
+     */
+    public void readBits(List<String> newsIds, BitSet out) {
+        synchronized (readTimes) {
+            for (int i = 0; i < newsIds.size(); i++) {
+                String newsId = newsIds.get(i);
+                if (newsId != null && readTimes.containsKey(newsId)) {
+                    out.set(i);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (readTimes) {
+            return readTimes.size();
+        }
+    }
+
+    /**
+     * 异步读取阅读历史，按阅读时间从新到旧排列；回调在数据库线程
+     */
+    public void loadHistory(NewsRepository.LoadCallback callback) {
+        repository.getExecutor().execute(() -> {
+            // 先写完队列中的记录，刚读过的新闻不用等延迟提交就能出现在历史里
+            writePending();
+            List<NewsItem> items;
+            try {
+                items = newsDao.getReadHistory(maxEntries);
+            } catch (Exception e) {
+                Log.e(TAG, "读取阅读历史失败", e);
+                items = new ArrayList<>();
+            }
+            callback.onLoaded(items);
+        });
+    }
+
+    /**
+     * 设置保留策略
+     *
+     * @param maxEntries 最多保留的记录数
+     * @param maxAgeDays 最多保留的天数，0 表示不限
+     */
+    public void setRetention(int maxEntries, int maxAgeDays) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxAgeDays = Math.max(0, maxAgeDays);
+        preferences.edit()
+                .putInt(KEY_MAX_ENTRIES, this.maxEntries)
+                .putInt(KEY_MAX_AGE_DAYS, this.maxAgeDays)
+                .apply();
+
+        List<String> evicted;
+        synchronized (readTimes) {
+            evicted = trimLocked(System.currentTimeMillis());
+            if (!evicted.isEmpty()) version++;
+        }
+        if (evicted.isEmpty()) return;
+
+        boolean schedule;
+        synchronized (pendingReads) {
+            schedule = enqueueEvictionsLocked(evicted);
+        }
+        if (schedule) {
+            mainHandler.postDelayed(flushTask, FLUSH_DELAY_MS);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int getMaxAgeDays() {
+        return maxAgeDays;
+    }
+
+    /**
+     * 按保留策略淘汰最旧的记录，返回被淘汰的ID（需持有 readTimes 锁）
+     */
+    private List<String> trimLocked(long now) {
+        List<String> evicted = new ArrayList<>();
+        long cutoff = maxAgeDays > 0 ? now - TimeUnit.DAYS.toMillis(maxAgeDays) : Long.MIN_VALUE;
+
+        Iterator<Map.Entry<String, Long>> iterator = readTimes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (readTimes.size() <= maxEntries && eldest.getValue() >= cutoff) break;
+            evicted.add(eldest.getKey());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    /**
+     * 把被淘汰的ID加入队列，返回是否需要安排一次提交（需持有 pendingReads 锁）
+     */
+    private boolean enqueueEvictionsLocked(List<String> evicted) {
+        for (String newsId : evicted) {
+            pendingReads.remove(newsId);
+            pendingEvictions.add(newsId);
+        }
+        boolean schedule = !flushScheduled;
+        flushScheduled = true;
+        return schedule;
+    }
+
+    /**
+     * 数据库线程：把队列中积累的阅读记录放在一个事务里提交
+     */
+    private void writePending() {
+        List<PendingRead> reads;
+        List<String> evictions;
+        synchronized (pendingReads) {
+            reads = new ArrayList<>(pendingReads.values());
+            evictions = new ArrayList<>(pendingEvictions);
+            pendingReads.clear();
+            pendingEvictions.clear();
+            flushScheduled = false;
+        }
+        if (reads.isEmpty() && evictions.isEmpty()) return;
+
+        try {
+            // 内容编码放在数据库线程，不占用主线程
+            List<NewsContent> contents = new ArrayList<>(reads.size());
+            List<ReadRecord> records = new ArrayList<>(reads.size());
+            for (PendingRead read : reads) {
+                contents.add(NewsContent.from(read.item));
+                ReadRecord record = new ReadRecord();
+                record.newsId = read.item.getNewsId();
+                record.readTime = read.readTime;
+                records.add(record);
+            }
+            newsDao.applyReads(evictions, contents, records);
+            Log.d(TAG, "提交阅读记录: " + records.size() + " 条, 淘汰: " + evictions.size());
+        } catch (Exception e) {
+            Log.e(TAG, "保存阅读记录失败", e);
+        }
+    }
+
+    /**
+     * 数据库线程：迁移旧数据并把阅读记录加载到内存
+     */
+    private void load() {
+        try {
+            migrateFromPreferences();
+
+            List<ReadRecord> records = newsDao.getReadRecords();
+            List<String> evicted;
+            synchronized (readTimes) {
+                // 加载期间新增的记录更新，排在后面
+                LinkedHashMap<String, Long> recent = new LinkedHashMap<>(readTimes);
+                readTimes.clear();
+                for (ReadRecord record : records) {
+                    readTimes.put(record.newsId, record.readTime);
+                }
+                for (Map.Entry<String, Long> entry : recent.entrySet()) {
+                    readTimes.remove(entry.getKey());
+                    readTimes.put(entry.getKey(), entry.getValue());
+                }
+                evicted = trimLocked(System.currentTimeMillis());
+                // 迁移或淘汰后数据库中的历史可能已变化
+                version++;
+            }
+            if (!evicted.isEmpty()) {
+                synchronized (pendingReads) {
+                    for (String newsId : evicted) {
+                        pendingReads.remove(newsId);
+                    }
+                }
+                newsDao.clearRead(evicted);
+            }
+            Log.d(TAG, "加载阅读记录: " + records.size() + " 条, 淘汰: " + evicted.size());
+        } catch (Exception e) {
+            Log.e(TAG, "加载阅读记录失败", e);
+        }
+    }
+
+    private void migrateFromPreferences() {
+        if (!preferences.contains(KEY_READ_NEWS_DATA) && !preferences.contains(KEY_READ_NEWS)) return;
+
+        Gson gson = NewsGson.get();
+        Type newsListType = new TypeToken<List<NewsItem>>(){}.getType();
+        Type mapType = new TypeToken<Map<String, Long>>(){}.getType();
+
+        List<NewsItem> items = gson.fromJson(preferences.getString(KEY_READ_NEWS_DATA, "[]"), newsListType);
+        Map<String, Long> times = gson.fromJson(preferences.getString(KEY_READ_TIMES, "{}"), mapType);
+        if (items == null) items = Collections.emptyList();
+        if (times == null) times = Collections.emptyMap();
+
+        List<NewsContent> contents = new ArrayList<>();
+        for (NewsItem item : items) {
+            if (item != null && item.getNewsId() != null) {
+                contents.add(NewsContent.from(item));
+            }
+        }
+        newsDao.upsertContent(contents);
+
+        long now = System.currentTimeMillis();
+        for (NewsContent content : contents) {
+            Long readTime = times.get(content.newsId);
+            newsDao.markRead(content.newsId, readTime != null ? readTime : now);
+        }
+
+        preferences.edit()
+                .remove(KEY_READ_NEWS)
+                .remove(KEY_READ_NEWS_DATA)
+                .remove(KEY_READ_TIMES)
+                .apply();
+        Log.d(TAG, "迁移旧阅读记录: " + contents.size() + " 条");
+    }
+
+    private static final class PendingRead {
+        final NewsItem item;
+        final long readTime;
+
+        PendingRead(NewsItem item, long readTime) {
+            this.item = item;
+            this.readTime = readTime;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.java.lisuofu.data;
+
+/**
+ * 阅读记录：新闻ID及阅读时间
+ */
+public class ReadRecord {
+    public String newsId;
+    public long readTime;
+}
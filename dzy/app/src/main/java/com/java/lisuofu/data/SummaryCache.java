@@ -0,0 +1,193 @@
+package com.java.lisuofu.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import android.util.LruCache;
+import com.google.gson.reflect.TypeToken;
+import com.java.lisuofu.model.NewsGson;
+import com.java.lisuofu.model.NewsItem;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI摘要缓存
+ * 以正文的 SHA-256 作为键，两级缓存：内存 LruCache 在前，数据库 summaries 表在后。
+ * 两级都按总字符数限制大小，超出时按最近访问时间淘汰；查找只读一行，不需要解析其他摘要。
+ */
+public final class SummaryCache {
+    private static final String TAG = "SummaryCache";
+
+    private static final String PREF_NAME = "news_prefs";
+    // 旧版本保存在 SharedPreferences 中的摘要（newsId -> 摘要），首次启动时迁移
+    private static final String KEY_SUMMARIES = "summaries";
+
+    private static final int MEMORY_MAX_CHARS = 64 * 1024;
+    private static final long DISK_MAX_CHARS = 1024 * 1024;
+
+    private static volatile SummaryCache instance;
+
+    private final SharedPreferences preferences;
+    private final NewsRepository repository;
+    private final SummaryDao summaryDao;
+    private final LruCache<String, String> memory = new LruCache<String, String>(MEMORY_MAX_CHARS) {
+        @Override
+        protected int sizeOf(String key, String value) {
+            return value.length();
+        }
+    };
+
+    private SummaryCache(Context context) {
+        this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.repository = NewsRepository.get();
+        this.summaryDao = repository.getSummaryDao();
+
+        repository.getExecutor().execute(this::migrateFromPreferences);
+    }
+
+    public static SummaryCache get(Context context) {
+        if (instance == null) {
+            synchronized (SummaryCache.class) {
+                if (instance == null) {
+                    instance = new SummaryCache(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 正文对应的缓存键，正文为空时返回 null
+     */
+    public static String keyOf(String content) {
+        if (content == null || content.isEmpty()) return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 只查内存，可以在主线程调用
+     */
+    public String peek(String key) {
+        if (key == null) return null;
+        String summary = memory.get(key);
+        if (summary != null) {
+            long now = System.currentTimeMillis();
+            repository.getExecutor().execute(() -> summaryDao.touch(key, now));
+        }
+        return summary;
+    }
+
+    /**
+     * 先查内存再查数据库，回调在数据库线程，未命中时回调 null
+     */
+    public void load(String key, Callback callback) {
+        if (key == null) {
+            repository.getExecutor().execute(() -> callback.onLoaded(null));
+            return;
+        }
+        String cached = peek(key);
+        if (cached != null) {
+            repository.getExecutor().execute(() -> callback.onLoaded(cached));
+            return;
+        }
+
+        repository.getExecutor().execute(() -> {
+            String summary = null;
+            try {
+                SummaryEntry entry = summaryDao.get(key);
+                if (entry != null && entry.summary != null) {
+                    summary = entry.summary;
+                    memory.put(key, summary);
+                    summaryDao.touch(key, System.currentTimeMillis());
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "读取摘要缓存失败", e);
+            }
+            callback.onLoaded(summary);
+        });
+    }
+
+    public void put(String key, String summary) {
+        if (key == null || summary == null) return;
+        memory.put(key, summary);
+
+        SummaryEntry entry = newEntry(key, summary, System.currentTimeMillis());
+        repository.getExecutor().execute(() -> {
+            try {
+                summaryDao.put(entry);
+                trim();
+            } catch (Exception e) {
+                Log.e(TAG, "保存摘要缓存失败", e);
+            }
+        });
+    }
+
+    private void trim() {
+        List<String> evicted = summaryDao.trimTo(DISK_MAX_CHARS);
+        for (String key : evicted) {
+            memory.remove(key);
+        }
+        if (!evicted.isEmpty()) {
+            Log.d(TAG, "淘汰摘要缓存: " + evicted.size() + " 条");
+        }
+    }
+
+    /**
+     * 把旧版本按 newsId 保存的摘要迁移到数据库（数据库线程）
+     * 只能迁移本地还有正文的新闻，其余的无法计算哈希，直接丢弃
+     */
+    private void migrateFromPreferences() {
+        String json = preferences.getString(KEY_SUMMARIES, null);
+        if (json == null) return;
+
+        int migrated = 0;
+        try {
+            Type type = new TypeToken<Map<String, String>>(){}.getType();
+            Map<String, String> summaries = NewsGson.get().fromJson(json, type);
+            if (summaries != null) {
+                long now = System.currentTimeMillis();
+                NewsDao newsDao = repository.getDao();
+                for (Map.Entry<String, String> legacy : summaries.entrySet()) {
+                    NewsItem item = newsDao.getById(legacy.getKey());
+                    String key = item != null ? keyOf(item.getContent()) : null;
+                    if (key == null || legacy.getValue() == null) continue;
+                    summaryDao.put(newEntry(key, legacy.getValue(), now));
+                    migrated++;
+                }
+                trim();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "迁移旧摘要缓存失败", e);
+        }
+
+        preferences.edit().remove(KEY_SUMMARIES).apply();
+        Log.d(TAG, "迁移旧摘要缓存: " + migrated + " 条");
+    }
+
+    private static SummaryEntry newEntry(String key, String summary, long lastAccess) {
+        SummaryEntry entry = new SummaryEntry();
+        entry.contentHash = key;
+        entry.summary = summary;
+        entry.length = summary.length();
+        entry.lastAccess = lastAccess;
+        return entry;
+    }
+
+    public interface Callback {
+        void onLoaded(String summary);
+    }
+}
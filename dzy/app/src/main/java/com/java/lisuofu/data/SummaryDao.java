@@ -0,0 +1,62 @@
+package com.java.lisuofu.data;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import java.util.ArrayList;
+import java.util.List;
+
+@Dao
+public abstract class SummaryDao {
+
+    @Query("SELECT * FROM summaries WHERE contentHash = :contentHash")
+    public abstract SummaryEntry get(String contentHash);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void put(SummaryEntry entry);
+
+    @Query("UPDATE summaries SET lastAccess = :lastAccess WHERE contentHash = :contentHash")
+    public abstract void touch(String contentHash, long lastAccess);
+
+    @Query("SELECT COALESCE(SUM(length), 0) FROM summaries")
+    public abstract long getTotalLength();
+
+    @Query("SELECT contentHash, length FROM summaries ORDER BY lastAccess ASC LIMIT :limit")
+    protected abstract List<SummarySize> getOldest(int limit);
+
+    @Query("DELETE FROM summaries WHERE contentHash IN (:contentHashes)")
+    protected abstract int delete(List<String> contentHashes);
+
+    /**
+     * 按最近访问时间从旧到新淘汰，直到总字符数不超过 maxLength，返回被淘汰的哈希
+     */
+    @Transaction
+    public List<String> trimTo(long maxLength) {
+        List<String> evicted = new ArrayList<>();
+        long excess = getTotalLength() - maxLength;
+        while (excess > 0) {
+            List<SummarySize> oldest = getOldest(64);
+            if (oldest.isEmpty()) break;
+
+            List<String> batch = new ArrayList<>();
+            for (SummarySize size : oldest) {
+                if (excess <= 0) break;
+                batch.add(size.contentHash);
+                excess -= size.length;
+            }
+            delete(batch);
+            evicted.addAll(batch);
+        }
+        return evicted;
+    }
+
+    /**
+     * 摘要的哈希及字符数
+     */
+    public static class SummarySize {
+        public String contentHash;
+        public int length;
+    }
+}
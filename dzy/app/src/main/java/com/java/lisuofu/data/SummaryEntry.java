@@ -0,0 +1,21 @@
+package com.java.lisuofu.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * AI摘要缓存，按新闻正文的哈希保存，同一篇文章换了 newsId 也能复用
+ */
+@Entity(tableName = "summaries", indices = {@Index("lastAccess")})
+public class SummaryEntry {
+
+    @NonNull
+    @PrimaryKey
+    public String contentHash = "";
+    public String summary;
+    // 摘要字符数，用于按总大小淘汰
+    public int length;
+    public long lastAccess;
+}
@@ -0,0 +1,402 @@
+package com.java.lisuofu.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 嵌套列表列的二进制编码
+ * 布局：版本字节，varint 元素个数，然后逐个元素按字段顺序写入；
+ * 整数用 zigzag varint，浮点数为8字节，字符串为 varint(字节数+1) 加 UTF-8，0 表示 null。
+ * 首字节不是版本号时按旧版本的JSON文本处理（见 NewsConverters）。
+ * 截断或损坏的数据在解码时抛出 IllegalArgumentException。
+ */
+public final class NewsBinaryCodec {
+
+    public static final byte VERSION = 1;
+
+    interface ElementCodec<T> {
+        void write(Output out, T value);
+
+        T read(Input in);
+    }
+
+    static final ElementCodec<NewsItem.Keyword> KEYWORD = new ElementCodec<NewsItem.Keyword>() {
+        @Override
+        public void write(Output out, NewsItem.Keyword value) {
+            out.writeDouble(value.getScore());
+            out.writeString(value.getWord());
+        }
+
+        @Override
+        public NewsItem.Keyword read(Input in) {
+            NewsItem.Keyword value = new NewsItem.Keyword();
+            value.setScore(in.readDouble());
+            value.setWord(in.readInternedString());
+            return value;
+        }
+    };
+
+    static final ElementCodec<NewsItem.TimeReference> TIME_REFERENCE = new ElementCodec<NewsItem.TimeReference>() {
+        @Override
+        public void write(Output out, NewsItem.TimeReference value) {
+            out.writeDouble(value.getScore());
+            out.writeString(value.getWord());
+        }
+
+        @Override
+        public NewsItem.TimeReference read(Input in) {
+            NewsItem.TimeReference value = new NewsItem.TimeReference();
+            value.setScore(in.readDouble());
+            value.setWord(in.readInternedString());
+            return value;
+        }
+    };
+
+    static final ElementCodec<NewsItem.LocationReference> LOCATION_REFERENCE = new ElementCodec<NewsItem.LocationReference>() {
+        @Override
+        public void write(Output out, NewsItem.LocationReference value) {
+            out.writeDouble(value.getScore());
+            out.writeString(value.getWord());
+        }
+
+        @Override
+        public NewsItem.LocationReference read(Input in) {
+            NewsItem.LocationReference value = new NewsItem.LocationReference();
+            value.setScore(in.readDouble());
+            value.setWord(in.readInternedString());
+            return value;
+        }
+    };
+
+    static final ElementCodec<NewsItem.PersonReference> PERSON_REFERENCE = new ElementCodec<NewsItem.PersonReference>() {
+        @Override
+        public void write(Output out, NewsItem.PersonReference value) {
+            out.writeDouble(value.getScore());
+            out.writeString(value.getWord());
+        }
+
+        @Override
+        public NewsItem.PersonReference read(Input in) {
+            NewsItem.PersonReference value = new NewsItem.PersonReference();
+            value.setScore(in.readDouble());
+            value.setWord(in.readInternedString());
+            return value;
+        }
+    };
+
+    static final ElementCodec<NewsItem.Person> PERSON = new ElementCodec<NewsItem.Person>() {
+        @Override
+        public void write(Output out, NewsItem.Person value) {
+            out.writeInt(value.getCount());
+            out.writeString(value.getLinkedURL());
+            out.writeString(value.getMention());
+        }
+
+        @Override
+        public NewsItem.Person read(Input in) {
+            NewsItem.Person value = new NewsItem.Person();
+            value.setCount(in.readInt());
+            value.setLinkedURL(in.readString());
+            value.setMention(in.readInternedString());
+            return value;
+        }
+    };
+
+    static final ElementCodec<NewsItem.Organization> ORGANIZATION = new ElementCodec<NewsItem.Organization>() {
+        @Override
+        public void write(Output out, NewsItem.Organization value) {
+            out.writeInt(value.getCount());
+            out.writeString(value.getLinkedURL());
+            out.writeString(value.getMention());
+        }
+
+        @Override
+        public NewsItem.Organization read(Input in) {
+            NewsItem.Organization value = new NewsItem.Organization();
+            value.setCount(in.readInt());
+            value.setLinkedURL(in.readString());
+            value.setMention(in.readInternedString());
+            return value;
+        }
+    };
+
+    static final ElementCodec<NewsItem.Location> LOCATION = new ElementCodec<NewsItem.Location>() {
+        @Override
+        public void write(Output out, NewsItem.Location value) {
+            out.writeDouble(value.getLongitude());
+            out.writeDouble(value.getLatitude());
+            out.writeInt(value.getCount());
+            out.writeString(value.getLinkedURL());
+            out.writeString(value.getMention());
+        }
+
+        @Override
+        public NewsItem.Location read(Input in) {
+            NewsItem.Location value = new NewsItem.Location();
+            value.setLongitude(in.readDouble());
+            value.setLatitude(in.readDouble());
+            value.setCount(in.readInt());
+            value.setLinkedURL(in.readString());
+            value.setMention(in.readInternedString());
+            return value;
+        }
+    };
+
+    private NewsBinaryCodec() {
+    }
+
+    static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == VERSION;
+    }
+
+    static <T> byte[] encode(List<T> list, ElementCodec<T> codec) {
+        Output out = new Output(16 + list.size() * 24);
+        out.writeByte(VERSION);
+        out.writeVarint(list.size());
+        for (T element : list) {
+            codec.write(out, element);
+        }
+        return out.toByteArray();
+    }
+
+    static <T> List<T> decode(byte[] data, ElementCodec<T> codec) {
+        Input in = new Input(data);
+        in.readByte(); // 版本
+        int size = in.readCount();
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(codec.read(in));
+        }
+        return list;
+    }
+
+    /**
+     * 编码一页完整的新闻（首页快照用），不含已读、收藏等本地状态
+     */
+    public static byte[] encodeItems(List<NewsItem> items) {
+        Output out = new Output(16 + items.size() * 2048);
+        out.writeByte(VERSION);
+        out.writeVarint(items.size());
+        for (NewsItem item : items) {
+            NewsContent content = NewsContent.from(item);
+            out.writeString(content.newsId);
+            out.writeString(content.title);
+            out.writeString(content.content);
+            out.writeString(content.image);
+            out.writeString(content.video);
+            out.writeString(content.publisher);
+            out.writeString(content.category);
+            out.writeString(content.publishTime);
+            out.writeString(content.crawlTime);
+            out.writeString(content.language);
+            out.writeBytes(content.keywords);
+            out.writeBytes(content.persons);
+            out.writeBytes(content.organizations);
+            out.writeBytes(content.locations);
+            out.writeBytes(content.timeReferences);
+            out.writeBytes(content.locationReferences);
+            out.writeBytes(content.personReferences);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码 encodeItems 的结果，版本不符或数据损坏时抛出 IllegalArgumentException
+     */
+    public static List<NewsItem> decodeItems(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("不支持的编码版本");
+        }
+        Input in = new Input(data);
+        in.readByte(); // 版本
+        int size = in.readCount();
+        List<NewsItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            NewsItem item = new NewsItem();
+            item.setNewsId(in.readString());
+            item.setTitle(in.readString());
+            item.setContent(in.readString());
+            item.setImage(in.readString());
+            item.setVideo(in.readString());
+            item.setPublisher(in.readInternedString());
+            item.setCategory(in.readInternedString());
+            item.setPublishTime(in.readString());
+            item.setCrawlTime(in.readString());
+            item.setLanguage(in.readInternedString());
+            item.setKeywords(NewsConverters.toKeywordsList(in.readBytes()));
+            item.setPersons(NewsConverters.toPersonsList(in.readBytes()));
+            item.setOrganizations(NewsConverters.toOrganizationsList(in.readBytes()));
+            item.setLocations(NewsConverters.toLocationsList(in.readBytes()));
+            item.setTimeReferences(NewsConverters.toTimeReferencesList(in.readBytes()));
+            item.setLocationReferences(NewsConverters.toLocationReferencesList(in.readBytes()));
+            item.setPersonReferences(NewsConverters.toPersonReferencesList(in.readBytes()));
+            items.add(item);
+        }
+        return items;
+    }
+
+    static final class Output {
+        private byte[] buffer;
+        private int position = 0;
+
+        Output(int initialCapacity) {
+            buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            writeVarint((value << 1) ^ (value >> 31));
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            ensureCapacity(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (bits >>> (i * 8));
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeBytes(byte[] value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(value.length + 1);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    static final class Input {
+        private final byte[] data;
+        private int position = 0;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            require(1);
+            return data[position++];
+        }
+
+        int readVarint() {
+            int result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 28) {
+                    throw new IllegalArgumentException("varint 超过5字节");
+                }
+                require(1);
+                b = data[position++];
+                result |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        /**
+         * 读取元素个数；每个元素至少占1字节，超过剩余字节数说明数据已损坏
+         */
+        int readCount() {
+            int count = readVarint();
+            if (count < 0 || count > data.length - position) {
+                throw new IllegalArgumentException("元素个数超出数据长度: " + count);
+            }
+            return count;
+        }
+
+        int readInt() {
+            int raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        double readDouble() {
+            require(8);
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits |= (data[position++] & 0xFFL) << (i * 8);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        String readString() {
+            int length = readLength();
+            if (length < 0) return null;
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = readLength();
+            if (length < 0) return null;
+            byte[] value = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return value;
+        }
+
+        String readInternedString() {
+            return StringInterner.shared().intern(readString());
+        }
+
+        /**
+         * 读取 varint(字节数+1)，null 返回 -1
+         */
+        private int readLength() {
+            int raw = readVarint();
+            if (raw == 0) return -1;
+            int length = raw - 1;
+            if (length < 0) {
+                throw new IllegalArgumentException("长度无效: " + raw);
+            }
+            require(length);
+            return length;
+        }
+
+        private void require(int count) {
+            if (count > data.length - position) {
+                throw new IllegalArgumentException("数据被截断: 需要 " + count + " 字节, 剩余 " + (data.length - position));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.java.lisuofu.model;
+
+import androidx.annotation.NonNull;
+
+/**
+ * news_items 表中来自接口的列，不含已读、收藏等本地状态
+ * 用作 Room 的部分实体写入，刷新新闻内容时不会覆盖本地状态；
+ * 嵌套列表列已按 NewsConverters 的二进制格式编码好
+ */
+public class NewsContent {
+
+    @NonNull
+    public String newsId = "";
+    public String title;
+    public String content;
+    public String image;
+    public String video;
+    public String publisher;
+    public String category;
+    public String publishTime;
+    public String crawlTime;
+    public String language;
+    public byte[] keywords;
+    public byte[] persons;
+    public byte[] organizations;
+    public byte[] locations;
+    public byte[] timeReferences;
+    public byte[] locationReferences;
+    public byte[] personReferences;
+
+    public static NewsContent from(NewsItem item) {
+        NewsContent content = new NewsContent();
+        content.newsId = item.getNewsId();
+        content.title = item.getTitle();
+        content.content = item.getContent();
+        content.image = item.getImage();
+        content.video = item.getVideo();
+        content.publisher = item.getPublisher();
+        content.category = item.getCategory();
+        content.publishTime = item.getPublishTime();
+        content.crawlTime = item.getCrawlTime();
+        content.language = item.getLanguage();
+        content.keywords = NewsConverters.fromKeywordsList(item.getKeywords());
+
+        // 未解码的片段只在这里临时解析一次，不回写到 NewsItem
+        String raw = item.rawPersons();
+        content.persons = NewsConverters.fromPersonsList(
+                raw != null ? NewsTypeAdapters.decodeList(raw, NewsTypeAdapters.PERSON) : item.getPersons());
+        raw = item.rawOrganizations();
+        content.organizations = NewsConverters.fromOrganizationsList(
+                raw != null ? NewsTypeAdapters.decodeList(raw, NewsTypeAdapters.ORGANIZATION) : item.getOrganizations());
+        raw = item.rawLocations();
+        content.locations = NewsConverters.fromLocationsList(
+                raw != null ? NewsTypeAdapters.decodeList(raw, NewsTypeAdapters.LOCATION) : item.getLocations());
+        raw = item.rawTimeReferences();
+        content.timeReferences = NewsConverters.fromTimeReferencesList(
+                raw != null ? NewsTypeAdapters.decodeList(raw, NewsTypeAdapters.TIME_REFERENCE) : item.getTimeReferences());
+        raw = item.rawLocationReferences();
+        content.locationReferences = NewsConverters.fromLocationReferencesList(
+                raw != null ? NewsTypeAdapters.decodeList(raw, NewsTypeAdapters.LOCATION_REFERENCE) : item.getLocationReferences());
+        raw = item.rawPersonReferences();
+        content.personReferences = NewsConverters.fromPersonReferencesList(
+                raw != null ? NewsTypeAdapters.decodeList(raw, NewsTypeAdapters.PERSON_REFERENCE) : item.getPersonReferences());
+        return content;
+    }
+}
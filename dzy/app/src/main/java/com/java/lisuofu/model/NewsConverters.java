@@ -4,107 +4,151 @@ import androidx.room.TypeConverter;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+/**
+ * 嵌套列表列的转换：写入使用 NewsBinaryCodec 的二进制格式，
+ * 读取时兼容旧版本写入的JSON文本
+ */
 public class NewsConverters {
 
-    private static final Gson gson = new Gson();
+    private static final Gson gson = NewsGson.get();
 
     // Keywords转换
     @TypeConverter
-    public static String fromKeywordsList(List<NewsItem.Keyword> keywords) {
+    public static byte[] fromKeywordsList(List<NewsItem.Keyword> keywords) {
         if (keywords == null) return null;
-        return gson.toJson(keywords);
+        return NewsBinaryCodec.encode(keywords, NewsBinaryCodec.KEYWORD);
     }
 
     @TypeConverter
-    public static List<NewsItem.Keyword> toKeywordsList(String data) {
+    public static List<NewsItem.Keyword> toKeywordsList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.KEYWORD);
+        }
         Type listType = new TypeToken<List<NewsItem.Keyword>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
 
     // Persons转换
     @TypeConverter
-    public static String fromPersonsList(List<NewsItem.Person> persons) {
+    public static byte[] fromPersonsList(List<NewsItem.Person> persons) {
         if (persons == null) return null;
-        return gson.toJson(persons);
+        return NewsBinaryCodec.encode(persons, NewsBinaryCodec.PERSON);
     }
 
     @TypeConverter
-    public static List<NewsItem.Person> toPersonsList(String data) {
+    public static List<NewsItem.Person> toPersonsList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.PERSON);
+        }
         Type listType = new TypeToken<List<NewsItem.Person>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
 
     // Organizations转换
     @TypeConverter
-    public static String fromOrganizationsList(List<NewsItem.Organization> organizations) {
+    public static byte[] fromOrganizationsList(List<NewsItem.Organization> organizations) {
         if (organizations == null) return null;
-        return gson.toJson(organizations);
+        return NewsBinaryCodec.encode(organizations, NewsBinaryCodec.ORGANIZATION);
     }
 
     @TypeConverter
-    public static List<NewsItem.Organization> toOrganizationsList(String data) {
+    public static List<NewsItem.Organization> toOrganizationsList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.ORGANIZATION);
+        }
         Type listType = new TypeToken<List<NewsItem.Organization>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
 
     // Locations转换
     @TypeConverter
-    public static String fromLocationsList(List<NewsItem.Location> locations) {
+    public static byte[] fromLocationsList(List<NewsItem.Location> locations) {
         if (locations == null) return null;
-        return gson.toJson(locations);
+        return NewsBinaryCodec.encode(locations, NewsBinaryCodec.LOCATION);
     }
 
     @TypeConverter
-    public static List<NewsItem.Location> toLocationsList(String data) {
+    public static List<NewsItem.Location> toLocationsList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.LOCATION);
+        }
         Type listType = new TypeToken<List<NewsItem.Location>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
 
     // TimeReferences转换
     @TypeConverter
-    public static String fromTimeReferencesList(List<NewsItem.TimeReference> timeReferences) {
+    public static byte[] fromTimeReferencesList(List<NewsItem.TimeReference> timeReferences) {
         if (timeReferences == null) return null;
-        return gson.toJson(timeReferences);
+        return NewsBinaryCodec.encode(timeReferences, NewsBinaryCodec.TIME_REFERENCE);
     }
 
     @TypeConverter
-    public static List<NewsItem.TimeReference> toTimeReferencesList(String data) {
+    public static List<NewsItem.TimeReference> toTimeReferencesList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.TIME_REFERENCE);
+        }
         Type listType = new TypeToken<List<NewsItem.TimeReference>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
 
     // LocationReferences转换
     @TypeConverter
-    public static String fromLocationReferencesList(List<NewsItem.LocationReference> locationReferences) {
+    public static byte[] fromLocationReferencesList(List<NewsItem.LocationReference> locationReferences) {
         if (locationReferences == null) return null;
-        return gson.toJson(locationReferences);
+        return NewsBinaryCodec.encode(locationReferences, NewsBinaryCodec.LOCATION_REFERENCE);
     }
 
     @TypeConverter
-    public static List<NewsItem.LocationReference> toLocationReferencesList(String data) {
+    public static List<NewsItem.LocationReference> toLocationReferencesList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.LOCATION_REFERENCE);
+        }
         Type listType = new TypeToken<List<NewsItem.LocationReference>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
 
     // PersonReferences转换
     @TypeConverter
-    public static String fromPersonReferencesList(List<NewsItem.PersonReference> personReferences) {
+    public static byte[] fromPersonReferencesList(List<NewsItem.PersonReference> personReferences) {
         if (personReferences == null) return null;
-        return gson.toJson(personReferences);
+        return NewsBinaryCodec.encode(personReferences, NewsBinaryCodec.PERSON_REFERENCE);
     }
 
     @TypeConverter
-    public static List<NewsItem.PersonReference> toPersonReferencesList(String data) {
+    public static List<NewsItem.PersonReference> toPersonReferencesList(byte[] data) {
         if (data == null) return null;
+        if (NewsBinaryCodec.isBinary(data)) {
+            return decodeBinary(data, NewsBinaryCodec.PERSON_REFERENCE);
+        }
         Type listType = new TypeToken<List<NewsItem.PersonReference>>(){}.getType();
-        return gson.fromJson(data, listType);
+        return fromLegacyJson(data, listType);
     }
-}
\ No newline at end of file
+
+    /**
+     * 二进制数据损坏时按缺失处理，避免整行读取失败
+     */
+    private static <T> List<T> decodeBinary(byte[] data, NewsBinaryCodec.ElementCodec<T> codec) {
+        try {
+            return NewsBinaryCodec.decode(data, codec);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 旧版本写入的JSON文本
+     */
+    private static <T> T fromLegacyJson(byte[] data, Type type) {
+        return gson.fromJson(new String(data, StandardCharsets.UTF_8), type);
+    }
+}
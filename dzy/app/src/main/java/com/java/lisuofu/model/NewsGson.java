@@ -0,0 +1,22 @@
+package com.java.lisuofu.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * 全局共享的 Gson 实例，注册了新闻模型的手写 TypeAdapter
+ * 网络解析、Room 转换器和本地缓存统一使用它，避免各处 new Gson() 以及反射解析
+ */
+public final class NewsGson {
+
+    private static final Gson GSON = new GsonBuilder()
+            .setLenient()
+            .registerTypeAdapterFactory(new NewsTypeAdapters())
+            .create();
+
+    private NewsGson() {}
+
+    public static Gson get() {
+        return GSON;
+    }
+}
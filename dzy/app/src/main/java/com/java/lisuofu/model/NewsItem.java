@@ -1,16 +1,26 @@
 package com.java.lisuofu.model;
 
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 import com.google.gson.annotations.SerializedName;
 import java.io.Serializable;
 import java.util.List;
 
-@Entity(tableName = "news_items")
+@Entity(tableName = "news_items",
+        indices = {
+                @Index("category"),
+                @Index("publishTime"),
+                @Index({"isFavorite", "favoriteTime"})
+        })
 @TypeConverters({NewsConverters.class})
 public class NewsItem implements Serializable {
 
+    @NonNull
     @PrimaryKey
     @SerializedName("newsID")
     private String newsId;
@@ -64,13 +74,33 @@ public class NewsItem implements Serializable {
     @SerializedName("who")
     private List<PersonReference> personReferences;
 
+    // 未解码的实体JSON片段，列表页用不到，首次访问对应字段时才解析
+    @Ignore
+    private String rawPersons;
+    @Ignore
+    private String rawOrganizations;
+    @Ignore
+    private String rawLocations;
+    @Ignore
+    private String rawTimeReferences;
+    @Ignore
+    private String rawLocationReferences;
+    @Ignore
+    private String rawPersonReferences;
+
     // 本地数据库字段
+    @ColumnInfo(defaultValue = "0")
     private boolean isRead = false;
+    @ColumnInfo(defaultValue = "0")
     private boolean isFavorite = false;
+    @ColumnInfo(defaultValue = "0")
     private long readTime = 0;
+    @ColumnInfo(defaultValue = "0")
+    private long favoriteTime = 0;
     private String aiSummary;
     
     // 临时字段用于搜索排序
+    @Ignore
     private transient double totalKeywordScore = 0.0;
 
     // 构造函数
@@ -113,23 +143,78 @@ public class NewsItem implements Serializable {
     public List<Keyword> getKeywords() { return keywords; }
     public void setKeywords(List<Keyword> keywords) { this.keywords = keywords; }
 
-    public List<Person> getPersons() { return persons; }
-    public void setPersons(List<Person> persons) { this.persons = persons; }
+    public synchronized List<Person> getPersons() {
+        if (rawPersons != null) {
+            persons = NewsTypeAdapters.decodeList(rawPersons, NewsTypeAdapters.PERSON);
+            rawPersons = null;
+        }
+        return persons;
+    }
+    public synchronized void setPersons(List<Person> persons) { this.persons = persons; this.rawPersons = null; }
+
+    public synchronized List<Organization> getOrganizations() {
+        if (rawOrganizations != null) {
+            organizations = NewsTypeAdapters.decodeList(rawOrganizations, NewsTypeAdapters.ORGANIZATION);
+            rawOrganizations = null;
+        }
+        return organizations;
+    }
+    public synchronized void setOrganizations(List<Organization> organizations) { this.organizations = organizations; this.rawOrganizations = null; }
+
+    public synchronized List<Location> getLocations() {
+        if (rawLocations != null) {
+            locations = NewsTypeAdapters.decodeList(rawLocations, NewsTypeAdapters.LOCATION);
+            rawLocations = null;
+        }
+        return locations;
+    }
+    public synchronized void setLocations(List<Location> locations) { this.locations = locations; this.rawLocations = null; }
+
+    public synchronized List<TimeReference> getTimeReferences() {
+        if (rawTimeReferences != null) {
+            timeReferences = NewsTypeAdapters.decodeList(rawTimeReferences, NewsTypeAdapters.TIME_REFERENCE);
+            rawTimeReferences = null;
+        }
+        return timeReferences;
+    }
+    public synchronized void setTimeReferences(List<TimeReference> timeReferences) { this.timeReferences = timeReferences; this.rawTimeReferences = null; }
+
+    public synchronized List<LocationReference> getLocationReferences() {
+        if (rawLocationReferences != null) {
+            locationReferences = NewsTypeAdapters.decodeList(rawLocationReferences, NewsTypeAdapters.LOCATION_REFERENCE);
+            rawLocationReferences = null;
+        }
+        return locationReferences;
+    }
+    public synchronized void setLocationReferences(List<LocationReference> locationReferences) { this.locationReferences = locationReferences; this.rawLocationReferences = null; }
+
+    public synchronized List<PersonReference> getPersonReferences() {
+        if (rawPersonReferences != null) {
+            personReferences = NewsTypeAdapters.decodeList(rawPersonReferences, NewsTypeAdapters.PERSON_REFERENCE);
+            rawPersonReferences = null;
+        }
+        return personReferences;
+    }
+    public synchronized void setPersonReferences(List<PersonReference> personReferences) { this.personReferences = personReferences; this.rawPersonReferences = null; }
 
-    public List<Organization> getOrganizations() { return organizations; }
-    public void setOrganizations(List<Organization> organizations) { this.organizations = organizations; }
+    // 未解码JSON片段的读写，仅供 NewsTypeAdapters 使用
+    synchronized String rawPersons() { return rawPersons; }
+    synchronized void setRawPersons(String json) { this.rawPersons = json; this.persons = null; }
 
-    public List<Location> getLocations() { return locations; }
-    public void setLocations(List<Location> locations) { this.locations = locations; }
+    synchronized String rawOrganizations() { return rawOrganizations; }
+    synchronized void setRawOrganizations(String json) { this.rawOrganizations = json; this.organizations = null; }
 
-    public List<TimeReference> getTimeReferences() { return timeReferences; }
-    public void setTimeReferences(List<TimeReference> timeReferences) { this.timeReferences = timeReferences; }
+    synchronized String rawLocations() { return rawLocations; }
+    synchronized void setRawLocations(String json) { this.rawLocations = json; this.locations = null; }
 
-    public List<LocationReference> getLocationReferences() { return locationReferences; }
-    public void setLocationReferences(List<LocationReference> locationReferences) { this.locationReferences = locationReferences; }
+    synchronized String rawTimeReferences() { return rawTimeReferences; }
+    synchronized void setRawTimeReferences(String json) { this.rawTimeReferences = json; this.timeReferences = null; }
 
-    public List<PersonReference> getPersonReferences() { return personReferences; }
-    public void setPersonReferences(List<PersonReference> personReferences) { this.personReferences = personReferences; }
+    synchronized String rawLocationReferences() { return rawLocationReferences; }
+    synchronized void setRawLocationReferences(String json) { this.rawLocationReferences = json; this.locationReferences = null; }
+
+    synchronized String rawPersonReferences() { return rawPersonReferences; }
+    synchronized void setRawPersonReferences(String json) { this.rawPersonReferences = json; this.personReferences = null; }
 
     public boolean isRead() { return isRead; }
     public void setRead(boolean read) { isRead = read; }
@@ -137,6 +222,9 @@ public class NewsItem implements Serializable {
     public boolean isFavorite() { return isFavorite; }
     public void setFavorite(boolean favorite) { isFavorite = favorite; }
 
+    public long getFavoriteTime() { return favoriteTime; }
+    public void setFavoriteTime(long favoriteTime) { this.favoriteTime = favoriteTime; }
+
     public long getReadTime() { return readTime; }
     public void setReadTime(long readTime) { this.readTime = readTime; }
 
@@ -0,0 +1,518 @@
+package com.java.lisuofu.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * NewsItem 及其嵌套实体的手写 TypeAdapter，不走反射
+ * 字段名与 @SerializedName 以及原先反射序列化写出的本地字段名保持一致，旧数据可以直接读取
+ */
+public final class NewsTypeAdapters implements TypeAdapterFactory {
+
+    static final TypeAdapter<NewsItem.Keyword> KEYWORD = new ScoredWordAdapter<>(
+            NewsItem.Keyword::new, NewsItem.Keyword::setScore, NewsItem.Keyword::setWord,
+            NewsItem.Keyword::getScore, NewsItem.Keyword::getWord);
+
+    static final TypeAdapter<NewsItem.TimeReference> TIME_REFERENCE = new ScoredWordAdapter<>(
+            NewsItem.TimeReference::new, NewsItem.TimeReference::setScore, NewsItem.TimeReference::setWord,
+            NewsItem.TimeReference::getScore, NewsItem.TimeReference::getWord);
+
+    static final TypeAdapter<NewsItem.LocationReference> LOCATION_REFERENCE = new ScoredWordAdapter<>(
+            NewsItem.LocationReference::new, NewsItem.LocationReference::setScore, NewsItem.LocationReference::setWord,
+            NewsItem.LocationReference::getScore, NewsItem.LocationReference::getWord);
+
+    static final TypeAdapter<NewsItem.PersonReference> PERSON_REFERENCE = new ScoredWordAdapter<>(
+            NewsItem.PersonReference::new, NewsItem.PersonReference::setScore, NewsItem.PersonReference::setWord,
+            NewsItem.PersonReference::getScore, NewsItem.PersonReference::getWord);
+
+    static final TypeAdapter<NewsItem.Person> PERSON = new MentionAdapter<>(
+            NewsItem.Person::new, NewsItem.Person::setCount, NewsItem.Person::setLinkedURL, NewsItem.Person::setMention,
+            NewsItem.Person::getCount, NewsItem.Person::getLinkedURL, NewsItem.Person::getMention);
+
+    static final TypeAdapter<NewsItem.Organization> ORGANIZATION = new MentionAdapter<>(
+            NewsItem.Organization::new, NewsItem.Organization::setCount, NewsItem.Organization::setLinkedURL, NewsItem.Organization::setMention,
+            NewsItem.Organization::getCount, NewsItem.Organization::getLinkedURL, NewsItem.Organization::getMention);
+
+    static final TypeAdapter<NewsItem.Location> LOCATION = new LocationAdapter();
+
+    static final TypeAdapter<NewsItem> NEWS_ITEM = new NewsItemAdapter();
+
+    static final TypeAdapter<NewsResponse> NEWS_RESPONSE = new NewsResponseAdapter();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == NewsItem.class) return (TypeAdapter<T>) NEWS_ITEM;
+        if (rawType == NewsResponse.class) return (TypeAdapter<T>) NEWS_RESPONSE;
+        if (rawType == NewsItem.Keyword.class) return (TypeAdapter<T>) KEYWORD;
+        if (rawType == NewsItem.Person.class) return (TypeAdapter<T>) PERSON;
+        if (rawType == NewsItem.Organization.class) return (TypeAdapter<T>) ORGANIZATION;
+        if (rawType == NewsItem.Location.class) return (TypeAdapter<T>) LOCATION;
+        if (rawType == NewsItem.TimeReference.class) return (TypeAdapter<T>) TIME_REFERENCE;
+        if (rawType == NewsItem.LocationReference.class) return (TypeAdapter<T>) LOCATION_REFERENCE;
+        if (rawType == NewsItem.PersonReference.class) return (TypeAdapter<T>) PERSON_REFERENCE;
+        return null;
+    }
+
+    // ========== 通用读写工具 ==========
+
+    static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return in.nextString();
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        // 非预期的结构化值，跳过
+        in.skipValue();
+        return null;
+    }
+
+    /**
+     * 读取高重复度的短字符串（来源、分类、实体名等），经字符串池去重
+     */
+    static String readInterned(JsonReader in) throws IOException {
+        return StringInterner.shared().intern(readString(in));
+    }
+
+    static double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextDouble();
+    }
+
+    static int readInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    static long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextLong();
+    }
+
+    static boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    static <T> List<T> readList(JsonReader in, TypeAdapter<T> elementAdapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            T element = elementAdapter.read(in);
+            if (element != null) {
+                list.add(element);
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    static <T> void writeList(JsonWriter out, String name, List<T> list, TypeAdapter<T> elementAdapter) throws IOException {
+        if (list == null) return;
+        out.name(name);
+        out.beginArray();
+        for (T element : list) {
+            elementAdapter.write(out, element);
+        }
+        out.endArray();
+    }
+
+    /**
+     * 把当前值原样复制成JSON文本，不构建任何对象
+     */
+    static String readRaw(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        StringWriter buffer = new StringWriter();
+        JsonWriter writer = new JsonWriter(buffer);
+        writer.setLenient(true);
+        copyValue(in, writer);
+        writer.flush();
+        return buffer.toString();
+    }
+
+    private static void copyValue(JsonReader in, JsonWriter out) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_ARRAY:
+                in.beginArray();
+                out.beginArray();
+                while (in.hasNext()) {
+                    copyValue(in, out);
+                }
+                in.endArray();
+                out.endArray();
+                break;
+            case BEGIN_OBJECT:
+                in.beginObject();
+                out.beginObject();
+                while (in.hasNext()) {
+                    out.name(in.nextName());
+                    copyValue(in, out);
+                }
+                in.endObject();
+                out.endObject();
+                break;
+            case STRING:
+                out.value(in.nextString());
+                break;
+            case NUMBER:
+                out.jsonValue(in.nextString());
+                break;
+            case BOOLEAN:
+                out.value(in.nextBoolean());
+                break;
+            case NULL:
+                in.nextNull();
+                out.nullValue();
+                break;
+            default:
+                in.skipValue();
+                break;
+        }
+    }
+
+    static boolean writeRaw(JsonWriter out, String name, String rawJson) throws IOException {
+        if (rawJson == null) return false;
+        out.name(name).jsonValue(rawJson);
+        return true;
+    }
+
+    /**
+     * 解码延迟保存的实体列表
+     */
+    static <T> List<T> decodeList(String rawJson, TypeAdapter<T> elementAdapter) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader(rawJson));
+            reader.setLenient(true);
+            return readList(reader, elementAdapter);
+        } catch (IOException | RuntimeException e) {
+            // 片段损坏时按无数据处理
+            return null;
+        }
+    }
+
+    // ========== NewsItem ==========
+
+    private static final class NewsItemAdapter extends TypeAdapter<NewsItem> {
+        @Override
+        public void write(JsonWriter out, NewsItem item) throws IOException {
+            if (item == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("newsID").value(item.getNewsId());
+            out.name("title").value(item.getTitle());
+            out.name("content").value(item.getContent());
+            out.name("image").value(item.getImage());
+            out.name("video").value(item.getVideo());
+            out.name("publisher").value(item.getPublisher());
+            out.name("category").value(item.getCategory());
+            out.name("publishTime").value(item.getPublishTime());
+            out.name("crawlTime").value(item.getCrawlTime());
+            out.name("language").value(item.getLanguage());
+            writeList(out, "keywords", item.getKeywords(), KEYWORD);
+            // 尚未解码的实体字段原样写回，不触发解析
+            if (!writeRaw(out, "persons", item.rawPersons())) {
+                writeList(out, "persons", item.getPersons(), PERSON);
+            }
+            if (!writeRaw(out, "organizations", item.rawOrganizations())) {
+                writeList(out, "organizations", item.getOrganizations(), ORGANIZATION);
+            }
+            if (!writeRaw(out, "locations", item.rawLocations())) {
+                writeList(out, "locations", item.getLocations(), LOCATION);
+            }
+            if (!writeRaw(out, "when", item.rawTimeReferences())) {
+                writeList(out, "when", item.getTimeReferences(), TIME_REFERENCE);
+            }
+            if (!writeRaw(out, "where", item.rawLocationReferences())) {
+                writeList(out, "where", item.getLocationReferences(), LOCATION_REFERENCE);
+            }
+            if (!writeRaw(out, "who", item.rawPersonReferences())) {
+                writeList(out, "who", item.getPersonReferences(), PERSON_REFERENCE);
+            }
+            // 本地字段
+            out.name("isRead").value(item.isRead());
+            out.name("isFavorite").value(item.isFavorite());
+            out.name("readTime").value(item.getReadTime());
+            out.name("favoriteTime").value(item.getFavoriteTime());
+            out.name("aiSummary").value(item.getAiSummary());
+            out.endObject();
+        }
+
+        @Override
+        public NewsItem read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            NewsItem item = new NewsItem();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "newsID": item.setNewsId(readString(in)); break;
+                    case "title": item.setTitle(readString(in)); break;
+                    case "content": item.setContent(readString(in)); break;
+                    case "image": item.setImage(readString(in)); break;
+                    case "video": item.setVideo(readString(in)); break;
+                    case "publisher": item.setPublisher(readInterned(in)); break;
+                    case "category": item.setCategory(readInterned(in)); break;
+                    case "publishTime": item.setPublishTime(readString(in)); break;
+                    case "crawlTime": item.setCrawlTime(readString(in)); break;
+                    case "language": item.setLanguage(readInterned(in)); break;
+                    case "keywords": item.setKeywords(readList(in, KEYWORD)); break;
+                    // 重量级实体字段只截取JSON片段，访问时再解码
+                    case "persons": item.setRawPersons(readRaw(in)); break;
+                    case "organizations": item.setRawOrganizations(readRaw(in)); break;
+                    case "locations": item.setRawLocations(readRaw(in)); break;
+                    case "when": item.setRawTimeReferences(readRaw(in)); break;
+                    case "where": item.setRawLocationReferences(readRaw(in)); break;
+                    case "who": item.setRawPersonReferences(readRaw(in)); break;
+                    case "isRead": item.setRead(readBoolean(in)); break;
+                    case "isFavorite": item.setFavorite(readBoolean(in)); break;
+                    case "readTime": item.setReadTime(readLong(in)); break;
+                    case "favoriteTime": item.setFavoriteTime(readLong(in)); break;
+                    case "aiSummary": item.setAiSummary(readString(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return item;
+        }
+    }
+
+    // ========== NewsResponse ==========
+
+    private static final class NewsResponseAdapter extends TypeAdapter<NewsResponse> {
+        @Override
+        public void write(JsonWriter out, NewsResponse response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("pageSize").value(response.getPageSize());
+            out.name("total").value(response.getTotal());
+            writeList(out, "data", response.getData(), NEWS_ITEM);
+            out.name("currentPage").value(response.getCurrentPage());
+            out.endObject();
+        }
+
+        @Override
+        public NewsResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            NewsResponse response = new NewsResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "pageSize": response.setPageSize(readString(in)); break;
+                    case "total": response.setTotal(readInt(in)); break;
+                    case "data": response.setData(readList(in, NEWS_ITEM)); break;
+                    case "currentPage": response.setCurrentPage(readString(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    // ========== 嵌套实体 ==========
+
+    /**
+     * {score, word} 结构：Keyword / TimeReference / LocationReference / PersonReference
+     */
+    private static final class ScoredWordAdapter<T> extends TypeAdapter<T> {
+        private final Supplier<T> factory;
+        private final ObjDoubleConsumer<T> setScore;
+        private final BiConsumer<T, String> setWord;
+        private final ToDoubleFunction<T> getScore;
+        private final Function<T, String> getWord;
+
+        ScoredWordAdapter(Supplier<T> factory, ObjDoubleConsumer<T> setScore, BiConsumer<T, String> setWord,
+                          ToDoubleFunction<T> getScore, Function<T, String> getWord) {
+            this.factory = factory;
+            this.setScore = setScore;
+            this.setWord = setWord;
+            this.getScore = getScore;
+            this.getWord = getWord;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("score").value(getScore.applyAsDouble(value));
+            out.name("word").value(getWord.apply(value));
+            out.endObject();
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T value = factory.get();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "score": setScore.accept(value, readDouble(in)); break;
+                    case "word": setWord.accept(value, readInterned(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+
+    /**
+     * {count, linkedURL, mention} 结构：Person / Organization
+     */
+    private static final class MentionAdapter<T> extends TypeAdapter<T> {
+        private final Supplier<T> factory;
+        private final ObjIntConsumer<T> setCount;
+        private final BiConsumer<T, String> setLinkedURL;
+        private final BiConsumer<T, String> setMention;
+        private final ToIntFunction<T> getCount;
+        private final Function<T, String> getLinkedURL;
+        private final Function<T, String> getMention;
+
+        MentionAdapter(Supplier<T> factory, ObjIntConsumer<T> setCount, BiConsumer<T, String> setLinkedURL,
+                       BiConsumer<T, String> setMention, ToIntFunction<T> getCount,
+                       Function<T, String> getLinkedURL, Function<T, String> getMention) {
+            this.factory = factory;
+            this.setCount = setCount;
+            this.setLinkedURL = setLinkedURL;
+            this.setMention = setMention;
+            this.getCount = getCount;
+            this.getLinkedURL = getLinkedURL;
+            this.getMention = getMention;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("count").value(getCount.applyAsInt(value));
+            out.name("linkedURL").value(getLinkedURL.apply(value));
+            out.name("mention").value(getMention.apply(value));
+            out.endObject();
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T value = factory.get();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "count": setCount.accept(value, readInt(in)); break;
+                    case "linkedURL": setLinkedURL.accept(value, readString(in)); break;
+                    case "mention": setMention.accept(value, readInterned(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+
+    private static final class LocationAdapter extends TypeAdapter<NewsItem.Location> {
+        @Override
+        public void write(JsonWriter out, NewsItem.Location value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("lng").value(value.getLongitude());
+            out.name("lat").value(value.getLatitude());
+            out.name("count").value(value.getCount());
+            out.name("linkedURL").value(value.getLinkedURL());
+            out.name("mention").value(value.getMention());
+            out.endObject();
+        }
+
+        @Override
+        public NewsItem.Location read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            NewsItem.Location value = new NewsItem.Location();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "lng": value.setLongitude(readDouble(in)); break;
+                    case "lat": value.setLatitude(readDouble(in)); break;
+                    case "count": value.setCount(readInt(in)); break;
+                    case "linkedURL": value.setLinkedURL(readString(in)); break;
+                    case "mention": value.setMention(readInterned(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+}
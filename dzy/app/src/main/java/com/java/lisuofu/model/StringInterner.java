@@ -0,0 +1,92 @@
+package com.java.lisuofu.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界的弱引用字符串池
+ * 来源、分类、语言以及关键词/实体名在一次会话中大量重复，解码时统一换成同一个实例。
+ * 按哈希直接映射到固定槽位，冲突时新值覆盖旧值；只持有弱引用，不会阻止回收。
+ */
+public final class StringInterner {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    // 超过此长度的字符串（正文、标题等）几乎不会重复，不进入池
+    private static final int MAX_INTERNED_LENGTH = 64;
+
+    // String 对象头及数组头的粗略开销（字节）
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private static final StringInterner SHARED = new StringInterner(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<WeakReference<String>> table;
+    private final int mask;
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public StringInterner(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * 返回池中与 value 相等的实例，没有则把 value 放入池中
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_INTERNED_LENGTH) return value;
+
+        lookups.incrementAndGet();
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        WeakReference<String> ref = table.get(slot);
+        String cached = ref != null ? ref.get() : null;
+        if (cached != null && cached.equals(value)) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(STRING_OVERHEAD_BYTES + 2L * value.length());
+            return cached;
+        }
+
+        table.set(slot, new WeakReference<>(value));
+        return value;
+    }
+
+    public long getLookupCount() {
+        return lookups.get();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * 命中率，0~1
+     */
+    public double getHitRate() {
+        long total = lookups.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * 命中后丢弃的重复字符串估算占用（字节）
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public String getStats() {
+        return "lookups=" + getLookupCount() +
+                ", hits=" + getHitCount() +
+                ", hitRate=" + String.format(Locale.US, "%.1f%%", getHitRate() * 100) +
+                ", bytesSaved=" + getBytesSaved();
+    }
+}
@@ -0,0 +1,58 @@
+package com.java.lisuofu.service;
+
+import okhttp3.Call;
+
+/**
+ * 绑定一个OkHttp Call的请求句柄
+ * 在Call创建之前取消也有效：绑定时会立即中止
+ */
+public class CancellableCall implements RequestHandle {
+
+    private volatile boolean canceled = false;
+    private volatile boolean done = false;
+    private Call call;
+
+    /**
+     * 绑定实际执行的网络调用
+     */
+    public void bind(Call call) {
+        boolean cancelNow;
+        synchronized (this) {
+            this.call = call;
+            cancelNow = canceled;
+        }
+        if (cancelNow) {
+            call.cancel();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        Call toCancel;
+        synchronized (this) {
+            if (canceled || done) return;
+            canceled = true;
+            toCancel = call;
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done || canceled;
+    }
+
+    /**
+     * 标记请求已完成
+     */
+    public void finish() {
+        done = true;
+    }
+}
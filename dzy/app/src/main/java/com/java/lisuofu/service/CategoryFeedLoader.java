@@ -0,0 +1,193 @@
+package com.java.lisuofu.service;
+
+import android.util.Log;
+import com.java.lisuofu.model.NewsItem;
+import com.java.lisuofu.model.NewsResponse;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * "全部"分类的多分类并发加载
+ * 每个分类单独发起请求，按发布时间做k路归并并按newsId去重；
+ * 每有一个分类返回就回调一次当前的合并结果，不必等待最慢的分类
+ */
+public class CategoryFeedLoader {
+    private static final String TAG = "CategoryFeedLoader";
+
+    // 发布时间格式为 yyyy-MM-dd HH:mm:ss，字符串顺序即时间顺序
+    private static final Comparator<NewsItem> NEWEST_FIRST = (a, b) -> {
+        String ta = a.getPublishTime() != null ? a.getPublishTime() : "";
+        String tb = b.getPublishTime() != null ? b.getPublishTime() : "";
+        return tb.compareTo(ta);
+    };
+
+    private final NewsApiService newsApiService;
+
+    public CategoryFeedLoader(NewsApiService newsApiService) {
+        this.newsApiService = newsApiService;
+    }
+
+    /**
+     * 并发加载多个分类的同一页并合并
+     */
+    public RequestHandle load(List<String> categories, int page, MergedCallback callback) {
+        FanOut fanOut = new FanOut(categories.size(), callback);
+
+        for (String category : categories) {
+            NewsApiService.NewsRequestParams params = NewsApiService.getCategoryParams(category, page);
+            RequestHandle handle = newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
+                @Override
+                public void onSuccess(NewsResponse response) {
+                    fanOut.onArrived(category, response.getData());
+                }
+
+                @Override
+                public void onError(String error) {
+                    Log.w(TAG, "分类加载失败: " + category + " - " + error);
+                    fanOut.onArrived(category, null);
+                }
+            });
+            fanOut.addChild(handle);
+        }
+        return fanOut;
+    }
+
+    /**
+     * k路归并：各分类列表按发布时间降序，依次取出最新的一条，重复的newsId只保留第一次出现
+     */
+    static List<NewsItem> mergeByPublishTime(List<List<NewsItem>> sources) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(
+                Math.max(1, sources.size()), (a, b) -> NEWEST_FIRST.compare(a.current(), b.current()));
+        int totalSize = 0;
+        for (List<NewsItem> source : sources) {
+            if (source != null && !source.isEmpty()) {
+                heap.add(new Cursor(source));
+                totalSize += source.size();
+            }
+        }
+
+        List<NewsItem> merged = new ArrayList<>(totalSize);
+        Set<String> seenIds = new HashSet<>();
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            NewsItem item = cursor.current();
+            if (item.getNewsId() == null || seenIds.add(item.getNewsId())) {
+                merged.add(item);
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor {
+        final List<NewsItem> items;
+        int index = 0;
+
+        Cursor(List<NewsItem> items) {
+            this.items = items;
+        }
+
+        NewsItem current() {
+            return items.get(index);
+        }
+
+        boolean advance() {
+            return ++index < items.size();
+        }
+    }
+
+    /**
+     * 一次并发加载的状态，同时作为整体的取消句柄
+     */
+    private static final class FanOut implements RequestHandle {
+        final List<RequestHandle> children = new ArrayList<>();
+        final List<List<NewsItem>> arrived = new ArrayList<>();
+        final int expected;
+        final MergedCallback callback;
+        int arrivedCount = 0;
+        int failedCount = 0;
+        volatile boolean canceled = false;
+        volatile boolean done = false;
+
+        FanOut(int expected, MergedCallback callback) {
+            this.expected = expected;
+            this.callback = callback;
+        }
+
+        void addChild(RequestHandle handle) {
+            synchronized (this) {
+                if (!canceled) {
+                    children.add(handle);
+                    return;
+                }
+            }
+            handle.cancel();
+        }
+
+        void onArrived(String category, List<NewsItem> items) {
+            // 在锁内回调，保证部分结果不会晚于最终结果送达（回调方只需投递到主线程）
+            synchronized (this) {
+                if (canceled) return;
+                arrivedCount++;
+                if (items == null) {
+                    failedCount++;
+                } else {
+                    List<NewsItem> sorted = new ArrayList<>(items);
+                    sorted.sort(NEWEST_FIRST);
+                    arrived.add(sorted);
+                }
+
+                List<NewsItem> merged = mergeByPublishTime(arrived);
+                Log.d(TAG, "分类返回: " + category + " (" + arrivedCount + "/" + expected + "), 合并后 " + merged.size() + " 条");
+
+                if (arrivedCount >= expected) {
+                    done = true;
+                    callback.onComplete(merged, failedCount);
+                } else {
+                    callback.onPartial(merged);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            List<RequestHandle> toCancel;
+            synchronized (this) {
+                if (canceled || done) return;
+                canceled = true;
+                toCancel = new ArrayList<>(children);
+            }
+            for (RequestHandle child : toCancel) {
+                child.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done || canceled;
+        }
+    }
+
+    public interface MergedCallback {
+        /**
+         * 部分分类已返回时的合并结果
+         */
+        void onPartial(List<NewsItem> merged);
+
+        /**
+         * 所有分类都已返回（或失败）
+         */
+        void onComplete(List<NewsItem> merged, int failedCount);
+    }
+}
@@ -1,6 +1,7 @@
 package com.java.lisuofu.service;
 
 import android.util.Log;
+import com.java.lisuofu.model.NewsGson;
 import com.java.lisuofu.model.NewsItem;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
@@ -11,7 +12,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class GLMService {
     private static final String TAG = "GLMService";
@@ -25,19 +25,24 @@ public class GLMService {
     private final ExecutorService executorService;
 
     public GLMService() {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .readTimeout(60, java.util.concurrent.TimeUnit.SECONDS)
-                .build();
-        this.gson = new Gson();
-        this.executorService = Executors.newFixedThreadPool(3);
+        // 使用进程级共享的连接池，摘要请求走单独的线程池
+        HttpTransport transport = HttpTransport.get();
+        this.httpClient = transport.getHttpClient();
+        this.executorService = transport.getSummaryExecutor();
+        this.gson = NewsGson.get();
     }
 
     /**
      * 生成新闻摘要
+     *
+     * @return 可取消的请求句柄，取消后回调不会被触发
      */
-    public void generateNewsSummary(String newsContent, SummaryCallback callback) {
+    public RequestHandle generateNewsSummary(String newsContent, SummaryCallback callback) {
+        CancellableCall handle = new CancellableCall();
+
         CompletableFuture.supplyAsync(() -> {
+            if (handle.isCanceled()) return null;
+
             try {
                 String limitedContent = limitContentLength(newsContent, 2000);
                 String prompt = String.format(
@@ -49,24 +54,35 @@ public class GLMService {
                         limitedContent
                 );
 
-                return callGLMAPI(prompt);
+                return callGLMAPI(prompt, handle);
             } catch (Exception e) {
-                Log.e(TAG, "生成新闻摘要失败", e);
+                if (!handle.isCanceled()) {
+                    Log.e(TAG, "生成新闻摘要失败", e);
+                }
                 return null;
             }
         }, executorService).thenAccept(summary -> {
+            if (handle.isCanceled()) {
+                Log.d(TAG, "摘要请求已取消");
+                return;
+            }
+            handle.finish();
+
+            long dispatchStart = System.nanoTime();
             if (summary != null && !summary.trim().isEmpty()) {
                 callback.onSuccess(cleanResult(summary));
             } else {
                 callback.onError("生成摘要失败，请重试");
             }
+            LatencyMetrics.get().record(RequestKind.SUMMARY, LatencyMetrics.Phase.DISPATCH, System.nanoTime() - dispatchStart);
         });
+        return handle;
     }
 
     /**
      * 调用GLM API
      */
-    private String callGLMAPI(String prompt) throws IOException {
+    private String callGLMAPI(String prompt, CancellableCall handle) throws IOException {
         // 构建请求体
         JsonObject requestBody = new JsonObject();
         requestBody.addProperty("model", "glm-4");
@@ -90,15 +106,22 @@ public class GLMService {
                 .addHeader("Authorization", "Bearer " + API_KEY)
                 .addHeader("Content-Type", "application/json")
                 .post(body)
+                .tag(RequestKind.class, RequestKind.SUMMARY)
                 .build();
 
         // 发送请求
-        try (Response response = httpClient.newCall(request).execute()) {
+        Call call = httpClient.newCall(request);
+        handle.bind(call);
+
+        try (Response response = call.execute()) {
             if (response.isSuccessful() && response.body() != null) {
                 String responseBody = response.body().string();
                 Log.d(TAG, "GLM API响应: " + responseBody);
 
-                return parseGLMResponse(responseBody);
+                long parseStart = System.nanoTime();
+                String summary = parseGLMResponse(responseBody);
+                LatencyMetrics.get().record(RequestKind.SUMMARY, LatencyMetrics.Phase.PARSE, System.nanoTime() - parseStart);
+                return summary;
             } else {
                 Log.e(TAG, "GLM API请求失败: " + response.code() + " " + response.message());
                 throw new IOException("GLM API请求失败: " + response.code());
@@ -170,11 +193,9 @@ public class GLMService {
 
     /**
      * 释放资源
+     * 连接池和线程池由 HttpTransport 全局持有，这里不再关闭
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
     }
 
     // 回调接口
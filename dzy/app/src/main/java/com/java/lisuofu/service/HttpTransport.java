@@ -0,0 +1,157 @@
+package com.java.lisuofu.service;
+
+import android.util.Log;
+import okhttp3.*;
+import java.net.InetAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 进程级共享的网络传输层
+ * NewsApiService 和 GLMService 共用同一个连接池和 Dispatcher，避免每次创建服务都重新握手、重新建线程；
+ * 新闻请求（含"全部"分类的并发加载）与AI摘要使用各自有界的线程池，
+ * 分类较多时新闻请求排队也不会占满摘要的线程。
+ */
+public final class HttpTransport {
+    private static final String TAG = "HttpTransport";
+
+    // 需要预热的主机
+    private static final String[] WARM_UP_URLS = {
+            "https://api2.newsminer.net/",
+            "https://open.bigmodel.cn/"
+    };
+
+    private static final int WORKER_THREADS = 6;
+    // 摘要请求耗时长但数量少，单独的小线程池
+    private static final int SUMMARY_THREADS = 2;
+
+    private static volatile HttpTransport instance;
+
+    private final AtomicInteger liveThreads = new AtomicInteger();
+    private final AtomicBoolean warmedUp = new AtomicBoolean(false);
+    private final ConnectionPool connectionPool;
+    private final Dispatcher dispatcher;
+    private final OkHttpClient httpClient;
+    private final ExecutorService executorService;
+    private final ExecutorService summaryExecutor;
+
+    private HttpTransport() {
+        this.connectionPool = new ConnectionPool(5, 5, TimeUnit.MINUTES);
+        this.dispatcher = new Dispatcher(Executors.newCachedThreadPool(countingThreadFactory("okhttp-dispatch")));
+
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .eventListenerFactory(MetricsEventListener.FACTORY)
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(60, TimeUnit.SECONDS)
+                .writeTimeout(60, TimeUnit.SECONDS)
+                .build();
+
+        this.executorService = Executors.newFixedThreadPool(WORKER_THREADS, countingThreadFactory("news-worker"));
+        this.summaryExecutor = Executors.newFixedThreadPool(SUMMARY_THREADS, countingThreadFactory("summary-worker"));
+    }
+
+    public static HttpTransport get() {
+        if (instance == null) {
+            synchronized (HttpTransport.class) {
+                if (instance == null) {
+                    instance = new HttpTransport();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * 新闻列表请求与预热使用的线程池
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * AI摘要请求专用的线程池
+     */
+    public ExecutorService getSummaryExecutor() {
+        return summaryExecutor;
+    }
+
+    /**
+     * 预热：提前解析DNS并建立TLS连接，放入连接池供后续请求复用
+     */
+    public void warmUp() {
+        if (!warmedUp.compareAndSet(false, true)) return;
+
+        for (String url : WARM_UP_URLS) {
+            executorService.execute(() -> {
+                HttpUrl httpUrl = HttpUrl.get(url);
+                try {
+                    InetAddress.getAllByName(httpUrl.host());
+
+                    Request request = new Request.Builder()
+                            .url(httpUrl)
+                            .head()
+                            .addHeader("User-Agent", "NewsApp/1.0")
+                            .build();
+                    try (Response response = httpClient.newCall(request).execute()) {
+                        Log.d(TAG, "预热完成: " + httpUrl.host() + " (" + response.code() + ")");
+                    }
+                } catch (Exception e) {
+                    // 预热失败不影响正常请求
+                    Log.w(TAG, "预热失败: " + httpUrl.host(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 当前存活的传输层线程数（工作线程 + OkHttp调度线程）
+     */
+    public int getLiveThreadCount() {
+        return liveThreads.get();
+    }
+
+    public int getConnectionCount() {
+        return connectionPool.connectionCount();
+    }
+
+    public int getIdleConnectionCount() {
+        return connectionPool.idleConnectionCount();
+    }
+
+    public int getRunningCallCount() {
+        return dispatcher.runningCallsCount();
+    }
+
+    public String getStats() {
+        return "threads=" + getLiveThreadCount() +
+                ", connections=" + getConnectionCount() +
+                ", idle=" + getIdleConnectionCount() +
+                ", runningCalls=" + getRunningCallCount();
+    }
+
+    private ThreadFactory countingThreadFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(() -> {
+                liveThreads.incrementAndGet();
+                try {
+                    runnable.run();
+                } finally {
+                    liveThreads.decrementAndGet();
+                }
+            }, prefix + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.java.lisuofu.service;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 网络请求各阶段的延迟直方图
+ * 按请求类型和阶段分组记录，可导出 p50/p95/p99 到调试界面或文件
+ */
+public final class LatencyMetrics {
+
+    /**
+     * 请求阶段
+     */
+    public enum Phase {
+        DNS("DNS"),
+        CONNECT("连接"),
+        TTFB("首字节"),
+        BODY("响应体"),
+        PARSE("解析"),
+        NORMALIZE("规范化"),
+        DISPATCH("回调分发"),
+        TOTAL("总耗时");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final LatencyMetrics INSTANCE = new LatencyMetrics();
+
+    private final Map<RequestKind, Map<Phase, Histogram>> histograms = new EnumMap<>(RequestKind.class);
+
+    private LatencyMetrics() {
+        for (RequestKind kind : RequestKind.values()) {
+            Map<Phase, Histogram> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new Histogram());
+            }
+            histograms.put(kind, phases);
+        }
+    }
+
+    public static LatencyMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * 记录一次耗时（纳秒），kind 为空时忽略
+     */
+    public void record(RequestKind kind, Phase phase, long nanos) {
+        if (kind == null || nanos < 0) return;
+        histograms.get(kind).get(phase).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public Histogram getHistogram(RequestKind kind, Phase phase) {
+        return histograms.get(kind).get(phase);
+    }
+
+    public void reset() {
+        for (Map<Phase, Histogram> phases : histograms.values()) {
+            for (Histogram histogram : phases.values()) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * 生成文本报告，单位毫秒；没有样本的阶段不输出。
+     * 边读边解析的请求（新闻列表）没有"响应体"一项，读取响应体的时间计入"解析"；
+     * 其余请求的"响应体"与"解析"互不重叠
+     */
+    public String report() {
+        StringBuilder builder = new StringBuilder();
+        for (RequestKind kind : RequestKind.values()) {
+            boolean headerWritten = false;
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = histograms.get(kind).get(phase);
+                long count = histogram.getCount();
+                if (count == 0) continue;
+
+                if (!headerWritten) {
+                    builder.append("[").append(kind.getLabel()).append("]\n");
+                    headerWritten = true;
+                }
+                builder.append(String.format(Locale.US, "  %s n=%d p50=%.1f p95=%.1f p99=%.1f max=%.1f\n",
+                        phase.getLabel(), count,
+                        histogram.percentileMillis(50), histogram.percentileMillis(95),
+                        histogram.percentileMillis(99), histogram.getMaxMicros() / 1000.0));
+            }
+        }
+        if (builder.length() == 0) {
+            builder.append("暂无数据\n");
+        } else {
+            builder.append("注：新闻列表边读边解析，响应体读取时间计入解析\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 把报告追加写入文件
+     */
+    public void exportTo(File file) throws IOException {
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+            writer.write("==== " + timestamp + " ====\n");
+            writer.write(report());
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * 对数分桶的直方图：每个2的幂区间分4个子桶，误差约19%，覆盖1微秒到约2分钟
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKETS = 4;
+        private static final int MAX_EXPONENT = 27;
+        private static final int BUCKET_COUNT = MAX_EXPONENT * SUB_BUCKETS + 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void record(long micros) {
+            buckets.incrementAndGet(bucketIndex(micros));
+            count.incrementAndGet();
+            long currentMax;
+            while (micros > (currentMax = maxMicros.get())) {
+                if (maxMicros.compareAndSet(currentMax, micros)) break;
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getMaxMicros() {
+            return maxMicros.get();
+        }
+
+        /**
+         * 第 percentile 百分位的耗时（毫秒，取所在桶的上界）
+         */
+        public double percentileMillis(double percentile) {
+            long total = count.get();
+            if (total == 0) return 0;
+
+            long threshold = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets.get(i);
+                if (seen >= threshold) {
+                    return Math.min(bucketUpperBound(i), maxMicros.get()) / 1000.0;
+                }
+            }
+            return maxMicros.get() / 1000.0;
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            maxMicros.set(0);
+        }
+
+        private static int bucketIndex(long micros) {
+            if (micros < 1) return 0;
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            if (exponent >= MAX_EXPONENT) return BUCKET_COUNT - 1;
+            // 取指数下一级的两位作为子桶
+            int sub = exponent >= 2
+                    ? (int) ((micros >>> (exponent - 2)) & (SUB_BUCKETS - 1))
+                    : (int) ((micros << (2 - exponent)) & (SUB_BUCKETS - 1));
+            return exponent * SUB_BUCKETS + sub;
+        }
+
+        private static long bucketUpperBound(int index) {
+            if (index >= BUCKET_COUNT - 1) return Long.MAX_VALUE;
+            int exponent = index / SUB_BUCKETS;
+            int sub = index % SUB_BUCKETS;
+            double lower = (1L << exponent) * (1 + sub / (double) SUB_BUCKETS);
+            double width = (1L << exponent) / (double) SUB_BUCKETS;
+            return (long) Math.ceil(lower + width);
+        }
+    }
+}
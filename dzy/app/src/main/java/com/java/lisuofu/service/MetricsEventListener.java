@@ -0,0 +1,89 @@
+package com.java.lisuofu.service;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * OkHttp 事件监听，把 DNS、连接、首字节和响应体读取耗时写入 LatencyMetrics
+ * 请求类型通过 Request.tag(RequestKind.class) 传入，没有标记的请求（如预热）不统计。
+ * 新闻列表是边读边解析的，响应体读完时解析也已完成，这类请求不记录响应体阶段，
+ * 读取时间计入调用方记录的解析阶段，避免两个阶段重复统计同一段时间。
+ */
+final class MetricsEventListener extends EventListener {
+
+    static final EventListener.Factory FACTORY = call -> {
+        RequestKind kind = call.request().tag(RequestKind.class);
+        return kind != null ? new MetricsEventListener(kind) : EventListener.NONE;
+    };
+
+    private final RequestKind kind;
+    private final LatencyMetrics metrics = LatencyMetrics.get();
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long requestStart;
+    private long bodyStart;
+
+    private MetricsEventListener(RequestKind kind) {
+        this.kind = kind;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.record(kind, LatencyMetrics.Phase.DNS, System.nanoTime() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        // 包含TLS握手
+        metrics.record(kind, LatencyMetrics.Phase.CONNECT, System.nanoTime() - connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        metrics.record(kind, LatencyMetrics.Phase.TTFB, System.nanoTime() - requestStart);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        if (kind.isStreamed()) return;
+        metrics.record(kind, LatencyMetrics.Phase.BODY, System.nanoTime() - bodyStart);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        metrics.record(kind, LatencyMetrics.Phase.TOTAL, System.nanoTime() - callStart);
+    }
+}
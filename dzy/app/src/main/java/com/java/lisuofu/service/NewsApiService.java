@@ -2,167 +2,200 @@ package com.java.lisuofu.service;
 
 import android.util.Log;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.java.lisuofu.data.NewsRepository;
+import com.java.lisuofu.model.NewsGson;
 import com.java.lisuofu.model.NewsItem;
 import com.java.lisuofu.model.NewsResponse;
+import com.java.lisuofu.model.StringInterner;
+import com.java.lisuofu.util.TraceLog;
 import okhttp3.*;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class NewsApiService {
     private static final String TAG = "NewsApiService";
     private static final String BASE_URL = "https://api2.newsminer.net/svc/news/queryNewsList";
 
+    // 进行中的请求：规范化参数 -> 等待结果的回调
+    private static final Map<String, InFlightRequest> inFlightRequests = new HashMap<>();
+    private static final AtomicLong issuedRequestCount = new AtomicLong();
+    private static final AtomicLong coalescedRequestCount = new AtomicLong();
+
     private final OkHttpClient httpClient;
     private final Gson gson;
     private final ExecutorService executorService;
-    private final GLMService glmService;
 
     public NewsApiService() {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .readTimeout(60, java.util.concurrent.TimeUnit.SECONDS)
-                .writeTimeout(60, java.util.concurrent.TimeUnit.SECONDS)
-                .build();
-
-        this.gson = new GsonBuilder()
-                .setLenient()
-                .create();
-
-        this.executorService = Executors.newFixedThreadPool(4);
-        this.glmService = new GLMService();
+        // 使用进程级共享的连接池和线程池
+        HttpTransport transport = HttpTransport.get();
+        this.httpClient = transport.getHttpClient();
+        this.executorService = transport.getExecutorService();
+
+        this.gson = NewsGson.get();
     }
 
     /**
      * 获取新闻列表
+     * 参数相同的并发请求会合并为一次网络调用，结果分发给所有等待的回调
+     *
+     * @return 可取消的请求句柄；所有等待者都取消后底层调用会被中止
      */
-    public void getNewsList(NewsRequestParams params, NewsCallback callback) {
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = buildUrl(params);
-                Log.d(TAG, "请求URL: " + url);
-
-                Request request = new Request.Builder()
-                        .url(url)
-                        .addHeader("User-Agent", "NewsApp/1.0")
-                        .addHeader("Accept", "application/json")
-                        .build();
-
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        String responseBody = response.body().string();
-                        Log.d(TAG, "API响应长度: " + responseBody.length());
-                        Log.d(TAG, "API响应前500字符: " + responseBody.substring(0, Math.min(500, responseBody.length())));
-
-                        NewsResponse newsResponse = parseNewsResponse(responseBody);
-
-                        if (newsResponse != null && newsResponse.getData() != null) {
-                            List<NewsItem> newsList = newsResponse.getData();
-                            List<NewsItem> filteredNewsList = new ArrayList<>();
-                            
-                            for (int i = 0; i < newsList.size(); i++) {
-                                NewsItem news = newsList.get(i);
-                                processNewsItem(news, i);
-                                
-                                // 只保留非"其他"分类的新闻
-                                if (!"其他".equals(news.getCategory())) {
-                                    filteredNewsList.add(news);
-                                }
-                            }
-                            
-                            // 更新响应数据为过滤后的列表
-                            newsResponse.setData(filteredNewsList);
-
-                            Log.d(TAG, "成功解析新闻数量: " + newsList.size() + ", 过滤后: " + filteredNewsList.size());
-                            return newsResponse;
-                        } else {
-                            Log.e(TAG, "解析响应失败或数据为空");
-                            return null;
-                        }
+    public RequestHandle getNewsList(NewsRequestParams params, NewsCallback callback) {
+        String requestKey = params.requestKey();
+        InFlightRequest inFlight;
+        Waiter waiter;
+
+        synchronized (inFlightRequests) {
+            inFlight = inFlightRequests.get(requestKey);
+            if (inFlight != null) {
+                waiter = new Waiter(requestKey, inFlight, callback);
+                inFlight.waiters.add(waiter);
+                coalescedRequestCount.incrementAndGet();
+                Log.d(TAG, "合并进行中的请求: " + requestKey);
+                return waiter;
+            }
+            inFlight = new InFlightRequest();
+            waiter = new Waiter(requestKey, inFlight, callback);
+            inFlight.waiters.add(waiter);
+            inFlightRequests.put(requestKey, inFlight);
+        }
+        issuedRequestCount.incrementAndGet();
+
+        InFlightRequest request = inFlight;
+        CompletableFuture.supplyAsync(() -> fetchNewsList(params, requestKey, request.call), executorService).thenAccept(result -> {
+            List<Waiter> waiters;
+            synchronized (inFlightRequests) {
+                inFlightRequests.remove(requestKey, request);
+                waiters = new ArrayList<>(request.waiters);
+                request.waiters.clear();
+                for (Waiter w : waiters) {
+                    w.done = true;
+                }
+            }
+            request.call.finish();
+
+            long dispatchStart = System.nanoTime();
+            for (Waiter w : waiters) {
+                if (w.canceled) continue;
+                try {
+                    if (result != null) {
+                        // 每个回调拿到独立的列表，避免调用方互相修改
+                        w.callback.onSuccess(copyResponse(result));
                     } else {
-                        Log.e(TAG, "HTTP请求失败: " + response.code() + " " + response.message());
-                        // 尝试获取错误响应内容
-                        if (response.body() != null) {
-                            String errorBody = response.body().string();
-                            Log.e(TAG, "错误响应内容: " + errorBody);
-                        }
-                        return null;
+                        w.callback.onError("获取新闻数据失败");
                     }
+                } catch (Exception e) {
+                    Log.e(TAG, "新闻回调执行失败", e);
                 }
-            } catch (Exception e) {
-                Log.e(TAG, "网络请求异常", e);
-                return null;
-            }
-        }, executorService).thenAccept(result -> {
-            if (result != null) {
-                callback.onSuccess(result);
-            } else {
-                callback.onError("获取新闻数据失败");
             }
+            LatencyMetrics.get().record(params.getKind(), LatencyMetrics.Phase.DISPATCH, System.nanoTime() - dispatchStart);
         });
+        return waiter;
     }
 
     /**
-     * 构建请求URL - 使用正确的URL编码
+     * 执行一次实际的网络请求并解析
      */
-    private String buildUrl(NewsRequestParams params) {
-        StringBuilder urlBuilder = new StringBuilder(BASE_URL);
-        urlBuilder.append("?");
-
-        boolean hasParam = false;
+    private NewsResponse fetchNewsList(NewsRequestParams params, String query, CancellableCall handle) {
+        if (handle.isCanceled()) return null;
 
-        if (params.getSize() > 0) {
-            urlBuilder.append("size=").append(params.getSize());
-            hasParam = true;
-        }
-
-        if (params.getStartDate() != null && !params.getStartDate().isEmpty()) {
-            if (hasParam) urlBuilder.append("&");
-            urlBuilder.append("startDate=").append(urlEncode(params.getStartDate()));
-            hasParam = true;
-        }
-
-        if (params.getEndDate() != null && !params.getEndDate().isEmpty()) {
-            if (hasParam) urlBuilder.append("&");
-            urlBuilder.append("endDate=").append(urlEncode(params.getEndDate()));
-            hasParam = true;
+        try {
+            String url = buildUrl(query);
+            Log.d(TAG, "请求URL: " + url);
+
+            Request request = new Request.Builder()
+                    .url(url)
+                    .addHeader("User-Agent", "NewsApp/1.0")
+                    .addHeader("Accept", "application/json")
+                    .tag(RequestKind.class, params.getKind())
+                    .build();
+
+            Call call = httpClient.newCall(request);
+            handle.bind(call);
+
+            try (Response response = call.execute()) {
+                if (response.isSuccessful() && response.body() != null) {
+                    // 直接在字符流上逐条解码，不再把整个响应体读成字符串
+                    NewsResponse newsResponse = parseNewsResponse(response.body().charStream(), handle, params.getKind());
+
+                    if (newsResponse != null) {
+                        // 写穿到本地数据库，离线时可以直接读取
+                        NewsRepository.get().saveFetched(newsResponse.getData());
+                        return newsResponse;
+                    } else {
+                        Log.e(TAG, "解析响应失败或数据为空");
+                        return null;
+                    }
+                } else {
+                    Log.e(TAG, "HTTP请求失败: " + response.code() + " " + response.message());
+                    // 尝试获取错误响应内容
+                    if (response.body() != null) {
+                        String errorBody = response.body().string();
+                        Log.e(TAG, "错误响应内容: " + errorBody);
+                    }
+                    return null;
+                }
+            }
+        } catch (Exception e) {
+            if (handle.isCanceled()) {
+                Log.d(TAG, "请求已取消: " + params);
+            } else {
+                Log.e(TAG, "网络请求异常", e);
+            }
+            return null;
         }
+    }
 
-        if (params.getWords() != null) {
-            if (hasParam) urlBuilder.append("&");
-            urlBuilder.append("words=").append(urlEncode(params.getWords()));
-            hasParam = true;
-        }
+    private static NewsResponse copyResponse(NewsResponse response) {
+        return new NewsResponse(
+                response.getPageSize(),
+                response.getTotal(),
+                new ArrayList<>(response.getData()),
+                response.getCurrentPage()
+        );
+    }
 
-        if (params.getCategories() != null && !params.getCategories().isEmpty()) {
-            if (hasParam) urlBuilder.append("&");
-            urlBuilder.append("categories=").append(urlEncode(params.getCategories()));
-            hasParam = true;
-        }
+    /**
+     * 实际发出的网络请求数
+     */
+    public static long getIssuedRequestCount() {
+        return issuedRequestCount.get();
+    }
 
-        if (params.getPage() > 0) {
-            if (hasParam) urlBuilder.append("&");
-            urlBuilder.append("page=").append(params.getPage());
-        }
+    /**
+     * 被合并到进行中请求的调用数
+     */
+    public static long getCoalescedRequestCount() {
+        return coalescedRequestCount.get();
+    }
 
-        String finalUrl = urlBuilder.toString();
-        Log.d(TAG, "构建的完整URL: " + finalUrl);
+    /**
+     * 由 NewsRequestParams.requestKey() 的查询串构建请求URL
+     */
+    private String buildUrl(String query) {
+        String finalUrl = BASE_URL + "?" + query;
+        TraceLog.d(TAG, "构建的完整URL: {}", finalUrl);
         return finalUrl;
     }
 
     /**
      * URL编码工具方法
      */
-    private String urlEncode(String value) {
+    private static String urlEncode(String value) {
         try {
             return URLEncoder.encode(value, "UTF-8");
         } catch (UnsupportedEncodingException e) {
@@ -172,22 +205,82 @@ public class NewsApiService {
     }
 
     /**
-     * 解析新闻响应数据
+     * 流式解析新闻响应数据
+     * 每解码出一条新闻就立即规范化并按分类过滤，"其他"分类的新闻不会进入结果列表
+     * 解析耗时不含规范化，但包含边读边解析时等待网络数据的时间
      */
-    private NewsResponse parseNewsResponse(String responseBody) {
-        try {
-            NewsResponse newsResponse = gson.fromJson(responseBody, NewsResponse.class);
+    private NewsResponse parseNewsResponse(Reader bodyReader, RequestHandle handle, RequestKind kind) {
+        long parseStart = System.nanoTime();
+        long normalizeNanos = 0;
+
+        try (JsonReader reader = gson.newJsonReader(bodyReader)) {
+            NewsResponse newsResponse = new NewsResponse();
+            List<NewsItem> filteredNewsList = null;
+            int parsedCount = 0;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
 
-            if (newsResponse == null) {
-                Log.e(TAG, "JSON解析失败，返回null");
-                return null;
+                switch (name) {
+                    case "pageSize":
+                        newsResponse.setPageSize(reader.nextString());
+                        break;
+                    case "total":
+                        newsResponse.setTotal(reader.nextInt());
+                        break;
+                    case "currentPage":
+                        newsResponse.setCurrentPage(reader.nextString());
+                        break;
+                    case "data":
+                        filteredNewsList = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            // 请求被取消后不再继续解析和规范化
+                            if (handle.isCanceled()) {
+                                Log.d(TAG, "请求已取消，停止解析");
+                                return null;
+                            }
+
+                            NewsItem news = gson.fromJson(reader, NewsItem.class);
+                            if (news == null) continue;
+
+                            long normalizeStart = System.nanoTime();
+                            processNewsItem(news, parsedCount++);
+                            normalizeNanos += System.nanoTime() - normalizeStart;
+
+                            // 只保留非"其他"分类的新闻
+                            if (!"其他".equals(news.getCategory())) {
+                                filteredNewsList.add(news);
+                            }
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
             }
+            reader.endObject();
 
-            if (newsResponse.getData() == null) {
+            if (filteredNewsList == null) {
                 Log.e(TAG, "新闻数据列表为空");
                 return null;
             }
 
+            LatencyMetrics metrics = LatencyMetrics.get();
+            metrics.record(kind, LatencyMetrics.Phase.NORMALIZE, normalizeNanos);
+            metrics.record(kind, LatencyMetrics.Phase.PARSE, System.nanoTime() - parseStart - normalizeNanos);
+
+            newsResponse.setData(filteredNewsList);
+            Log.d(TAG, "成功解析新闻数量: " + parsedCount + ", 过滤后: " + filteredNewsList.size());
+            if (TraceLog.isEnabled()) {
+                TraceLog.d(TAG, "字符串池: {}", StringInterner.shared().getStats());
+            }
             return newsResponse;
 
         } catch (Exception e) {
@@ -204,7 +297,7 @@ public class NewsApiService {
             if (news.getNewsId() == null || news.getNewsId().isEmpty()) {
                 String tempId = "news_" + System.currentTimeMillis() + "_" + index;
                 news.setNewsId(tempId);
-                Log.d(TAG, "为新闻生成临时ID: " + tempId);
+                TraceLog.d(TAG, "为新闻生成临时ID: {}", tempId);
             }
 
             if (news.getTitle() == null) {
@@ -225,20 +318,20 @@ public class NewsApiService {
 
             // 处理分类 - 规范化API返回的分类
             String category = news.getCategory();
-            Log.d(TAG, "API返回分类: '" + category + "' (新闻: " + news.getTitle() + ")");
+            TraceLog.d(TAG, "API返回分类: '{}' (新闻: {})", category, news.getTitle());
             
             if (category == null || category.trim().isEmpty()) {
                 // 当API没有返回分类时，设置为"其他"
                 news.setCategory("其他");
-                Log.d(TAG, "API未提供分类，设置为'其他': " + news.getTitle());
+                TraceLog.d(TAG, "API未提供分类，设置为'其他': {}", news.getTitle());
             } else {
                 // 规范化分类：只允许预定义的分类
                 String normalizedCategory = normalizeCategory(category.trim());
                 news.setCategory(normalizedCategory);
-                Log.d(TAG, "分类规范化: " + news.getTitle() + " -> '" + category + "' -> '" + normalizedCategory + "'");
+                TraceLog.d(TAG, "分类规范化: {} -> '{}' -> '{}'", news.getTitle(), category, normalizedCategory);
             }
 
-            Log.d(TAG, "处理新闻: " + news.getTitle() + " (ID: " + news.getNewsId() + ", 分类: " + news.getCategory() + ")");
+            TraceLog.d(TAG, "处理新闻: {} (ID: {}, 分类: {})", news.getTitle(), news.getNewsId(), news.getCategory());
 
         } catch (Exception e) {
             Log.e(TAG, "处理新闻项目失败", e);
@@ -262,7 +355,7 @@ public class NewsApiService {
         }
         
         // 如果不是预定义分类，归类到"其他"
-        Log.d(TAG, "非预定义分类 '" + category + "' 归类到'其他'");
+        TraceLog.d(TAG, "非预定义分类 '{}' 归类到'其他'", category);
         return "其他";
     }
 
@@ -319,6 +412,7 @@ public class NewsApiService {
      */
     public static NewsRequestParams getSearchParams(String keywords, String category, int page) {
         NewsRequestParams params = getDefaultTodayParams();
+        params.setKind(RequestKind.KEYWORD_SEARCH);
         if (keywords != null && !keywords.isEmpty()) {
             params.setWords(keywords);
         }
@@ -334,6 +428,7 @@ public class NewsApiService {
      */
     public static NewsRequestParams getTimeRangeParams(String startDate, String endDate, int page) {
         NewsRequestParams params = new NewsRequestParams();
+        params.setKind(RequestKind.DATE_SEARCH);
         params.setSize(30);  // 与默认搜索保持一致
         params.setPage(page);
         params.setStartDate(startDate);
@@ -345,13 +440,60 @@ public class NewsApiService {
 
     /**
      * 释放资源
+     * 连接池和线程池由 HttpTransport 全局持有，这里不再关闭
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
+    }
+
+    /**
+     * 一次实际的网络调用及其等待者
+     */
+    private static final class InFlightRequest {
+        final CancellableCall call = new CancellableCall();
+        final List<Waiter> waiters = new ArrayList<>();
+    }
+
+    /**
+     * 单个调用方的句柄：取消只移除自己，最后一个等待者取消时才中止网络调用
+     */
+    private static final class Waiter implements RequestHandle {
+        final String requestKey;
+        final InFlightRequest request;
+        final NewsCallback callback;
+        volatile boolean canceled = false;
+        volatile boolean done = false;
+
+        Waiter(String requestKey, InFlightRequest request, NewsCallback callback) {
+            this.requestKey = requestKey;
+            this.request = request;
+            this.callback = callback;
         }
-        if (glmService != null) {
-            glmService.shutdown();
+
+        @Override
+        public void cancel() {
+            boolean abortCall = false;
+            synchronized (inFlightRequests) {
+                if (canceled || done) return;
+                canceled = true;
+                request.waiters.remove(this);
+                if (request.waiters.isEmpty()) {
+                    inFlightRequests.remove(requestKey, request);
+                    abortCall = true;
+                }
+            }
+            if (abortCall) {
+                request.call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done || canceled;
         }
     }
 
@@ -369,6 +511,8 @@ public class NewsApiService {
         private String words;
         private String categories;
         private int page = 1;
+        // 仅用于统计分组，不参与请求合并
+        private RequestKind kind = RequestKind.CATEGORY_FEED;
 
         public int getSize() { return size; }
         public void setSize(int size) { this.size = size; }
@@ -388,6 +532,53 @@ public class NewsApiService {
         public int getPage() { return page; }
         public void setPage(int page) { this.page = page; }
 
+        public RequestKind getKind() { return kind; }
+        public void setKind(RequestKind kind) { this.kind = kind; }
+
+        /**
+         * 请求的查询串，与实际请求的URL逐字一致，同时作为合并相同并发请求的键
+         */
+        public String requestKey() {
+            StringBuilder query = new StringBuilder();
+            boolean hasParam = false;
+
+            if (size > 0) {
+                query.append("size=").append(size);
+                hasParam = true;
+            }
+
+            if (startDate != null && !startDate.isEmpty()) {
+                if (hasParam) query.append("&");
+                query.append("startDate=").append(urlEncode(startDate));
+                hasParam = true;
+            }
+
+            if (endDate != null && !endDate.isEmpty()) {
+                if (hasParam) query.append("&");
+                query.append("endDate=").append(urlEncode(endDate));
+                hasParam = true;
+            }
+
+            if (words != null) {
+                if (hasParam) query.append("&");
+                query.append("words=").append(urlEncode(words));
+                hasParam = true;
+            }
+
+            if (categories != null && !categories.isEmpty()) {
+                if (hasParam) query.append("&");
+                query.append("categories=").append(urlEncode(categories));
+                hasParam = true;
+            }
+
+            if (page > 0) {
+                if (hasParam) query.append("&");
+                query.append("page=").append(page);
+            }
+
+            return query.toString();
+        }
+
         @Override
         public String toString() {
             return "NewsRequestParams{" +
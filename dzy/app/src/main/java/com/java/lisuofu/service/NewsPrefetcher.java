@@ -0,0 +1,110 @@
+package com.java.lisuofu.service;
+
+import android.util.Log;
+import com.java.lisuofu.model.NewsResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 新闻分页预取
+ * 在当前页展示后提前拉取后续页面，结果放在有界缓冲区中，加载更多时直接从内存取出
+ */
+public class NewsPrefetcher {
+    private static final String TAG = "NewsPrefetcher";
+
+    // 最多缓存的预取页数
+    private static final int MAX_BUFFERED_PAGES = 4;
+
+    private final NewsApiService newsApiService;
+    private final Object lock = new Object();
+    private final Map<String, RequestHandle> pendingRequests = new HashMap<>();
+    private final Map<String, NewsResponse> buffer = new LinkedHashMap<String, NewsResponse>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NewsResponse> eldest) {
+            return size() > MAX_BUFFERED_PAGES;
+        }
+    };
+
+    // 每次取消都会递增，用于丢弃过期的预取结果
+    private int generation = 0;
+
+    public NewsPrefetcher(NewsApiService newsApiService) {
+        this.newsApiService = newsApiService;
+    }
+
+    /**
+     * 在后台预取指定页面，已缓存或正在预取的页面会被忽略
+     */
+    public void prefetch(NewsApiService.NewsRequestParams params) {
+        String key = params.requestKey();
+        int requestGeneration;
+
+        synchronized (lock) {
+            if (buffer.containsKey(key) || pendingRequests.containsKey(key)) return;
+            pendingRequests.put(key, null);
+            requestGeneration = generation;
+        }
+
+        Log.d(TAG, "预取页面: " + params.getPage() + " (" + key + ")");
+
+        RequestHandle handle = newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
+            @Override
+            public void onSuccess(NewsResponse response) {
+                synchronized (lock) {
+                    if (requestGeneration != generation) return;
+                    pendingRequests.remove(key);
+                    buffer.put(key, response);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                synchronized (lock) {
+                    if (requestGeneration != generation) return;
+                    pendingRequests.remove(key);
+                }
+            }
+        });
+
+        boolean stale;
+        synchronized (lock) {
+            stale = requestGeneration != generation;
+            if (!stale && pendingRequests.containsKey(key)) {
+                pendingRequests.put(key, handle);
+            }
+        }
+        if (stale) {
+            handle.cancel();
+        }
+    }
+
+    /**
+     * 取出已预取的页面，没有则返回null
+     */
+    public NewsResponse take(NewsApiService.NewsRequestParams params) {
+        synchronized (lock) {
+            return buffer.remove(params.requestKey());
+        }
+    }
+
+    /**
+     * 取消所有预取并清空缓冲区（切换分类或搜索词时调用）
+     */
+    public void cancelAll() {
+        List<RequestHandle> toCancel;
+        synchronized (lock) {
+            generation++;
+            toCancel = new ArrayList<>(pendingRequests.values());
+            pendingRequests.clear();
+            buffer.clear();
+        }
+        for (RequestHandle handle : toCancel) {
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+    }
+}
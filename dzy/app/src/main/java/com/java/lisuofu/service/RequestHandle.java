@@ -0,0 +1,17 @@
+package com.java.lisuofu.service;
+
+/**
+ * 可取消的请求句柄
+ * 取消后底层网络调用会被中止，回调不会再被触发
+ */
+public interface RequestHandle {
+
+    void cancel();
+
+    boolean isCanceled();
+
+    /**
+     * 请求已完成或已取消
+     */
+    boolean isDone();
+}
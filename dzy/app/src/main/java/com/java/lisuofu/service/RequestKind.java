@@ -0,0 +1,28 @@
+package com.java.lisuofu.service;
+
+/**
+ * 请求类型，用于延迟统计分组
+ */
+public enum RequestKind {
+    CATEGORY_FEED("分类新闻", true),
+    KEYWORD_SEARCH("关键词搜索", true),
+    DATE_SEARCH("日期搜索", true),
+    SUMMARY("AI摘要", false);
+
+    private final String label;
+    // 响应体是否边读边解析
+    private final boolean streamed;
+
+    RequestKind(String label, boolean streamed) {
+        this.label = label;
+        this.streamed = streamed;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isStreamed() {
+        return streamed;
+    }
+}
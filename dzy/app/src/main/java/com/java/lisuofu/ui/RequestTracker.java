@@ -0,0 +1,56 @@
+package com.java.lisuofu.ui;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.java.lisuofu.service.RequestHandle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 跟踪页面发出的请求，在生命周期结束时自动取消
+ * Fragment 绑定 getViewLifecycleOwner()，Activity 直接绑定自身
+ */
+public class RequestTracker implements DefaultLifecycleObserver {
+
+    private final List<RequestHandle> handles = new ArrayList<>();
+
+    private RequestTracker() {}
+
+    public static RequestTracker bindTo(LifecycleOwner owner) {
+        RequestTracker tracker = new RequestTracker();
+        owner.getLifecycle().addObserver(tracker);
+        return tracker;
+    }
+
+    /**
+     * 登记一个请求，返回原句柄方便链式使用
+     */
+    public synchronized <T extends RequestHandle> T track(T handle) {
+        if (handle == null) return null;
+
+        // 顺便清理已经结束的请求
+        handles.removeIf(RequestHandle::isDone);
+        handles.add(handle);
+        return handle;
+    }
+
+    public void cancelAll() {
+        List<RequestHandle> toCancel;
+        synchronized (this) {
+            toCancel = new ArrayList<>(handles);
+            handles.clear();
+        }
+        for (RequestHandle handle : toCancel) {
+            handle.cancel();
+        }
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        cancelAll();
+        owner.getLifecycle().removeObserver(this);
+    }
+}
@@ -2,7 +2,6 @@ package com.java.lisuofu.ui.activity;
 
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.media.MediaPlayer;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
@@ -17,14 +16,14 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.java.lisuofu.R;
+import com.java.lisuofu.data.ReadHistoryStore;
+import com.java.lisuofu.data.SummaryCache;
 import com.java.lisuofu.model.NewsItem;
 import com.java.lisuofu.service.GLMService;
 import com.java.lisuofu.ui.fragment.FavoriteFragment;
+import com.java.lisuofu.ui.RequestTracker;
 import com.java.lisuofu.ui.fragment.HistoryFragment;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
@@ -33,13 +32,13 @@ public class NewsDetailActivity extends AppCompatActivity {
 
     private static final String TAG = "NewsDetailActivity";
     private static final String EXTRA_NEWS_ITEM = "news_item";
-    private static final String PREF_NAME = "news_prefs";
-    private static final String KEY_SUMMARIES = "summaries";
 
     private NewsItem newsItem;
     private GLMService glmService;
-    private SharedPreferences preferences;
-    private Gson gson;
+    private RequestTracker requestTracker;
+    private SummaryCache summaryCache;
+    // 正文哈希，摘要缓存的键
+    private String summaryKey;
 
     // UI 组件
     private TextView titleText;
@@ -83,8 +82,8 @@ public class NewsDetailActivity extends AppCompatActivity {
 
     private void initializeComponents() {
         glmService = new GLMService();
-        preferences = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        gson = new Gson();
+        requestTracker = RequestTracker.bindTo(this);
+        summaryCache = SummaryCache.get(this);
 
         // 初始化UI组件
         titleText = findViewById(R.id.tv_news_title);
@@ -143,10 +142,20 @@ public class NewsDetailActivity extends AppCompatActivity {
         favoriteButton.setOnClickListener(v -> toggleFavorite());
         generateSummaryButton.setOnClickListener(v -> generateSummary());
 
-        // 检查是否已有缓存的摘要
-        String cachedSummary = getCachedSummary(newsItem.getNewsID());
+        // 检查是否已有缓存的摘要：内存命中直接显示，否则到数据库中查找
+        summaryKey = SummaryCache.keyOf(newsItem.getContent());
+        String cachedSummary = summaryCache.peek(summaryKey);
         if (!TextUtils.isEmpty(cachedSummary)) {
             showSummary(cachedSummary);
+        } else if (summaryKey != null) {
+            summaryCache.load(summaryKey, summary -> {
+                if (TextUtils.isEmpty(summary)) return;
+                runOnUiThread(() -> {
+                    if (!isFinishing() && !isDestroyed()) {
+                        showSummary(summary);
+                    }
+                });
+            });
         }
 
         // 设置视频播放
@@ -322,7 +331,7 @@ public class NewsDetailActivity extends AppCompatActivity {
         }
 
         // 检查是否已有缓存的摘要
-        String cachedSummary = getCachedSummary(newsItem.getNewsID());
+        String cachedSummary = summaryCache.peek(summaryKey);
         if (!TextUtils.isEmpty(cachedSummary)) {
             showSummary(cachedSummary);
             return;
@@ -335,13 +344,13 @@ public class NewsDetailActivity extends AppCompatActivity {
         summaryLayout.setVisibility(View.VISIBLE);
 
         // 调用GLM生成摘要
-        glmService.generateNewsSummary(newsItem.getContent(), new GLMService.SummaryCallback() {
+        requestTracker.track(glmService.generateNewsSummary(newsItem.getContent(), new GLMService.SummaryCallback() {
             @Override
             public void onSuccess(String summary) {
                 runOnUiThread(() -> {
                     showSummary(summary);
                     // 缓存摘要
-                    cacheSummary(newsItem.getNewsID(), summary);
+                    summaryCache.put(summaryKey, summary);
                 });
             }
 
@@ -354,7 +363,7 @@ public class NewsDetailActivity extends AppCompatActivity {
                     Toast.makeText(NewsDetailActivity.this, "摘要生成失败: " + error, Toast.LENGTH_SHORT).show();
                 });
             }
-        });
+        }));
     }
 
     private void showSummary(String summary) {
@@ -385,47 +394,6 @@ public class NewsDetailActivity extends AppCompatActivity {
         }
     }
 
-    // ========== SharedPreferences 摘要缓存相关方法 ==========
-
-    private String getCachedSummary(String newsId) {
-        if (newsId == null) return null;
-
-        String json = preferences.getString(KEY_SUMMARIES, "{}");
-        Type type = new TypeToken<java.util.Map<String, String>>(){}.getType();
-        java.util.Map<String, String> summaries = gson.fromJson(json, type);
-        return summaries != null ? summaries.get(newsId) : null;
-    }
-
-    private void cacheSummary(String newsId, String summary) {
-        if (newsId == null || summary == null) return;
-
-        String json = preferences.getString(KEY_SUMMARIES, "{}");
-        Type type = new TypeToken<java.util.Map<String, String>>(){}.getType();
-        java.util.Map<String, String> summaries = gson.fromJson(json, type);
-        if (summaries == null) {
-            summaries = new java.util.HashMap<>();
-        }
-
-        summaries.put(newsId, summary);
-
-        // 限制缓存数量，避免占用过多存储空间
-        if (summaries.size() > 200) {
-            // 简单的清理策略：随机移除一些旧的摘要
-            java.util.Iterator<String> iterator = summaries.keySet().iterator();
-            int removeCount = 50;
-            while (iterator.hasNext() && removeCount > 0) {
-                iterator.next();
-                iterator.remove();
-                removeCount--;
-            }
-        }
-
-        String updatedJson = gson.toJson(summaries);
-        preferences.edit().putString(KEY_SUMMARIES, updatedJson).apply();
-
-        Log.d(TAG, "缓存摘要: " + newsId);
-    }
-
     private String formatTime(String timeStr) {
         try {
             SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
@@ -476,6 +444,13 @@ public class NewsDetailActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // 离开页面时提交排队中的阅读记录并等待落库
+        ReadHistoryStore.get(this).flushBlocking(ReadHistoryStore.STOP_FLUSH_TIMEOUT_MS);
+    }
+
     private boolean isNetworkAvailable() {
         ConnectivityManager connectivityManager = (ConnectivityManager) getSystemService(Context.CONNECTIVITY_SERVICE);
         if (connectivityManager != null) {
@@ -1,73 +1,343 @@
 package com.java.lisuofu.ui.adapter;
 
 import android.content.Context;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
 import com.java.lisuofu.R;
 import com.java.lisuofu.model.NewsItem;
-import java.text.SimpleDateFormat;
+import com.java.lisuofu.util.ImageProfiles;
+import com.java.lisuofu.util.ThumbnailStats;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
-
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 新闻列表适配器
+ * 提交的列表先在后台线程计算成 NewsCardModel（含预先排版的标题和预览），再与当前列表做差异计算（按 newsId 识别同一条新闻），
+ * 只刷新变化的行；只有已读状态变化的行通过 payload 局部刷新，不重新加载图片。
+ * 缩略图按 ImageView 的实际尺寸以省内存的配置解码（见 ImageProfiles），并预加载即将滑入的几行；
+ * 快速惯性滑动时暂停图片请求。
+ */
 public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder> {
 
+    // 只有已读状态变化时的局部刷新标记
+    private static final Object PAYLOAD_READ_STATE = new Object();
+    private static final int MODEL_CACHE_SIZE = 500;
+    // 向滑动方向预加载的行数
+    private static final int PRELOAD_AHEAD_ITEMS = 6;
+    // 惯性滑动每帧超过这个距离（dp）时暂停图片请求
+    private static final int FLING_PAUSE_DP_PER_FRAME = 80;
+
+    // 所有列表共用的显示模型计算线程
+    private static final ExecutorService MODEL_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "news-card-model");
+        thread.setDaemon(true);
+        return thread;
+    });
     private Context context;
-    private List<NewsItem> newsList;
+    private final AsyncListDiffer<NewsCardModel> differ = new AsyncListDiffer<>(this, new ModelDiffCallback());
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     private OnNewsItemClickListener listener;
 
+    // 已计算过的模型，按 NewsItem 对象缓存（NewsItem 未重写 equals，按对象区分），只在 MODEL_EXECUTOR 上访问
+    private final Map<NewsItem, NewsCardModel> modelCache = new LinkedHashMap<NewsItem, NewsCardModel>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<NewsItem, NewsCardModel> eldest) {
+            return size() > MODEL_CACHE_SIZE;
+        }
+    };
+
+    // 最近一次提交的新闻，addNews 在此基础上追加
+    private List<NewsItem> submittedItems = new ArrayList<>();
+    // 每次提交递增，丢弃后台计算完成时已过期的结果
+    private int submitGeneration = 0;
+
+    // newsId -> 稳定ID，同一条新闻在多次提交之间保持同一个ID
+    private final Map<String, Long> stableIds = new HashMap<>();
+    private long nextStableId = 1;
+
+    // 从第一个 ViewHolder 取得的排版参数，之后的模型在后台线程按此排版
+    private volatile NewsCardModel.TextParams textParams;
+
+    // 已读/未读样式的颜色只解析一次
+    private final int titleColor;
+    private final int contentColor;
+    private final int readTitleColor;
+    private final int readContentColor;
+
+    // 缩略图请求，列表绑定和预加载使用相同的尺寸和变换，缓存键一致
+    private final RequestManager requestManager;
+    private final RequestBuilder<Drawable> thumbnailRequest;
+    private final int thumbnailSize;
+    // 统计每行显示的缩略图占用的内存
+    private final RequestListener<Drawable> thumbnailStatsListener = new RequestListener<Drawable>() {
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, Object model, Target<Drawable> target,
+                                    boolean isFirstResource) {
+            return false;
+        }
+
+        @Override
+        public boolean onResourceReady(Drawable resource, Object model, Target<Drawable> target,
+                                       DataSource dataSource, boolean isFirstResource) {
+            if (resource instanceof BitmapDrawable && ((BitmapDrawable) resource).getBitmap() != null) {
+                ThumbnailStats.shared().record(((BitmapDrawable) resource).getBitmap());
+            }
+            return false;
+        }
+    };
+
     public interface OnNewsItemClickListener {
         void onNewsClick(NewsItem newsItem);
     }
 
     public NewsAdapter(Context context) {
         this.context = context;
-        this.newsList = new ArrayList<>();
+        this.titleColor = context.getResources().getColor(R.color.text_primary, null);
+        this.contentColor = context.getResources().getColor(R.color.text_secondary, null);
+        this.readTitleColor = context.getResources().getColor(R.color.text_secondary, null);
+        this.readContentColor = context.getResources().getColor(R.color.text_hint, null);
+        this.thumbnailSize = context.getResources().getDimensionPixelSize(R.dimen.news_thumbnail_size);
+        this.requestManager = Glide.with(context);
+        this.thumbnailRequest = requestManager.asDrawable()
+                .apply(ImageProfiles.listThumbnail(thumbnailSize))
+                .placeholder(R.drawable.placeholder_image)
+                .error(R.drawable.error_image);
+        setHasStableIds(true);
     }
 
     public void setOnNewsItemClickListener(OnNewsItemClickListener listener) {
         this.listener = listener;
     }
 
+    /**
+     * 为列表加上缩略图预加载和快速滑动时暂停请求，在 setAdapter 之后调用
+     */
+    public void attachImagePreloader(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(requestManager,
+                new ThumbnailPreloadProvider(),
+                new FixedPreloadSizeProvider<>(thumbnailSize, thumbnailSize),
+                PRELOAD_AHEAD_ITEMS));
+        recyclerView.addOnScrollListener(new FlingPauseListener(
+                FLING_PAUSE_DP_PER_FRAME * context.getResources().getDisplayMetrics().density));
+    }
+
+    /**
+     * 提交新的列表；会复制列表并记录每条新闻当前的已读状态，调用方之后修改原列表不影响显示
+     */
     public void setNewsList(List<NewsItem> newsList) {
-        this.newsList = newsList;
-        notifyDataSetChanged();
+        List<NewsItem> items = new ArrayList<>(newsList);
+        submittedItems = items;
+
+        // 已读状态会被原地修改，在主线程提交时记录下来
+        int size = items.size();
+        long[] ids = new long[size];
+        boolean[] read = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            NewsItem item = items.get(i);
+            ids[i] = stableIdOf(item.getNewsId());
+            read[i] = item.isRead();
+        }
+
+        int generation = ++submitGeneration;
+        MODEL_EXECUTOR.execute(() -> {
+            long now = System.currentTimeMillis();
+            NewsCardModel.TextParams params = textParams;
+            List<NewsCardModel> models = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                models.add(modelOf(items.get(i), ids[i], read[i], now, params));
+            }
+            mainHandler.post(() -> {
+                if (generation == submitGeneration) {
+                    differ.submitList(models);
+                }
+            });
+        });
     }
 
     public void addNews(List<NewsItem> newNews) {
-        int startPosition = this.newsList.size();
-        this.newsList.addAll(newNews);
-        notifyItemRangeInserted(startPosition, newNews.size());
+        List<NewsItem> items = new ArrayList<>(submittedItems);
+        items.addAll(newNews);
+        setNewsList(items);
     }
 
     public void clearNews() {
-        this.newsList.clear();
-        notifyDataSetChanged();
+        setNewsList(new ArrayList<>());
+    }
+
+    private long stableIdOf(String newsId) {
+        if (newsId == null) {
+            return nextStableId++;
+        }
+        Long id = stableIds.get(newsId);
+        if (id == null) {
+            id = nextStableId++;
+            stableIds.put(newsId, id);
+        }
+        return id;
+    }
+
+    /**
+     * 模型计算线程：同一个 NewsItem 只计算一次，相对时间过期或排版参数变化后重新计算
+     */
+    private NewsCardModel modelOf(NewsItem item, long stableId, boolean read, long now,
+                                  NewsCardModel.TextParams params) {
+        NewsCardModel cached = modelCache.get(item);
+        if (cached == null || cached.stableId != stableId || cached.textParams != params
+                || isTimeTextStale(cached, now)) {
+            cached = NewsCardModel.from(item, stableId, read, now, params);
+            modelCache.put(item, cached);
+            return cached;
+        }
+        return cached.withRead(read);
+    }
+
+    private static boolean isTimeTextStale(NewsCardModel model, long now) {
+        NewsCardModel.TimeBucket bucket = model.timeBucket;
+        return bucket != NewsCardModel.TimeBucket.DATE && bucket != NewsCardModel.TimeBucket.UNKNOWN
+                && now - model.createdAt >= 60 * 1000L;
     }
 
     @NonNull
     @Override
     public NewsViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_news, parent, false);
-        return new NewsViewHolder(view);
+        NewsViewHolder holder = new NewsViewHolder(view);
+        if (textParams == null) {
+            textParams = new NewsCardModel.TextParams(
+                    TextViewCompat.getTextMetricsParams(holder.tvTitle),
+                    TextViewCompat.getTextMetricsParams(holder.tvContent));
+        }
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull NewsViewHolder holder, int position) {
-        NewsItem newsItem = newsList.get(position);
-        holder.bind(newsItem);
+        holder.bind(differ.getCurrentList().get(position));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull NewsViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.updateReadStatus(differ.getCurrentList().get(position).read);
     }
 
     @Override
     public int getItemCount() {
-        return newsList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).stableId;
+    }
+
+    /**
+     * 预加载的数据来源：指定行的缩略图地址
+     */
+    private class ThumbnailPreloadProvider implements ListPreloader.PreloadModelProvider<String> {
+        @NonNull
+        @Override
+        public List<String> getPreloadItems(int position) {
+            List<NewsCardModel> models = differ.getCurrentList();
+            if (position < 0 || position >= models.size() || models.get(position).imageUrl == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(models.get(position).imageUrl);
+        }
+
+        @Override
+        public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String imageUrl) {
+            return thumbnailRequest.clone().load(imageUrl);
+        }
+    }
+
+    /**
+     * 惯性滑动速度很快时暂停图片请求，减速或停止后恢复
+     */
+    private class FlingPauseListener extends RecyclerView.OnScrollListener {
+        private final float thresholdPx;
+        private boolean paused = false;
+
+        FlingPauseListener(float thresholdPx) {
+            this.thresholdPx = thresholdPx;
+        }
+
+        @Override
+        public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+            if (newState != RecyclerView.SCROLL_STATE_SETTLING) {
+                resume();
+            }
+        }
+
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            if (recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_SETTLING && Math.abs(dy) > thresholdPx) {
+                if (!paused) {
+                    paused = true;
+                    requestManager.pauseRequests();
+                }
+            } else {
+                resume();
+            }
+        }
+
+        private void resume() {
+            if (paused) {
+                paused = false;
+                requestManager.resumeRequests();
+            }
+        }
+    }
+
+    private static final class ModelDiffCallback extends DiffUtil.ItemCallback<NewsCardModel> {
+        @Override
+        public boolean areItemsTheSame(@NonNull NewsCardModel oldModel, @NonNull NewsCardModel newModel) {
+            return oldModel.stableId == newModel.stableId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull NewsCardModel oldModel, @NonNull NewsCardModel newModel) {
+            return oldModel == newModel || (oldModel.read == newModel.read && oldModel.sameContent(newModel));
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull NewsCardModel oldModel, @NonNull NewsCardModel newModel) {
+            return oldModel.sameContent(newModel) ? PAYLOAD_READ_STATE : null;
+        }
     }
 
     class NewsViewHolder extends RecyclerView.ViewHolder {
@@ -100,130 +370,93 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
                 if (listener != null) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        listener.onNewsClick(newsList.get(position));
+                        listener.onNewsClick(differ.getCurrentList().get(position).item);
                     }
                 }
             });
         }
 
-        public void bind(NewsItem newsItem) {
+        public void bind(NewsCardModel model) {
             // 设置标题
-            tvTitle.setText(newsItem.getTitle() != null ? newsItem.getTitle() : "无标题");
+            setCardText(tvTitle, model.titleText);
 
             // 设置内容预览
-            String content = newsItem.getContent();
-            if (content != null && !content.isEmpty()) {
-                tvContent.setText(content);
+            if (model.previewText != null) {
+                setCardText(tvContent, model.previewText);
                 tvContent.setVisibility(View.VISIBLE);
             } else {
                 tvContent.setVisibility(View.GONE);
             }
 
             // 设置分类
-            String category = newsItem.getCategory();
-            if (category != null && !category.isEmpty()) {
-                tvCategory.setText(category);
+            if (model.category != null) {
+                tvCategory.setText(model.category);
                 tvCategory.setVisibility(View.VISIBLE);
             } else {
                 tvCategory.setVisibility(View.GONE);
             }
 
-            // 设置来源
-            tvSource.setText(newsItem.getPublisher() != null ? newsItem.getPublisher() : "未知来源");
-
-            // 设置时间
-            tvTime.setText(formatTime(newsItem.getPublishTime()));
+            // 设置来源和时间
+            tvSource.setText(model.source);
+            tvTime.setText(model.timeText);
 
             // 设置图片
-            loadNewsImage(newsItem);
+            loadNewsImage(model.imageUrl);
 
-            // 设置已读状态（已读新闻显示为灰色）
-            updateReadStatus(newsItem.isRead());
+            // 设置已读状态
+            updateReadStatus(model.read);
         }
 
-        private void loadNewsImage(NewsItem newsItem) {
-            String imageUrl = getFirstImageUrl(newsItem.getImage());
-            if (imageUrl != null && !imageUrl.isEmpty()) {
-                ivImage.setVisibility(View.VISIBLE);
-                Glide.with(context)
-                        .load(imageUrl)
-                        .placeholder(R.drawable.placeholder_image)
-                        .error(R.drawable.error_image)
-                        .into(ivImage);
+        /**
+         * 已预先排版的文本直接使用；还没有排版参数时（第一屏）交给后台排版，测量时再取结果
+         */
+        private void setCardText(TextView view, CharSequence text) {
+            if (text instanceof PrecomputedTextCompat) {
+                try {
+                    TextViewCompat.setPrecomputedText(view, (PrecomputedTextCompat) text);
+                    return;
+                } catch (IllegalArgumentException e) {
+                    // 排版参数与当前 TextView 不一致（如字体缩放已改变）：重新取参数，下次提交时按新参数排版
+                    textParams = new NewsCardModel.TextParams(
+                            TextViewCompat.getTextMetricsParams(tvTitle),
+                            TextViewCompat.getTextMetricsParams(tvContent));
+                    view.setText(text.toString());
+                    return;
+                }
+            }
+            if (view instanceof AppCompatTextView) {
+                ((AppCompatTextView) view).setTextFuture(PrecomputedTextCompat.getTextFuture(
+                        text, TextViewCompat.getTextMetricsParams(view), MODEL_EXECUTOR));
             } else {
-                ivImage.setVisibility(View.GONE);
+                view.setText(text);
             }
         }
 
-        private String getFirstImageUrl(String imageField) {
-            if (imageField == null || imageField.isEmpty() || "[]".equals(imageField)) {
-                return null;
-            }
-
-            try {
-                // 处理数组格式的图片URL：'["URL"]' 或 '[URL]'
-                if (imageField.startsWith("[") && imageField.endsWith("]")) {
-                    String cleanUrl = imageField.substring(1, imageField.length() - 1);
-                    if (cleanUrl.startsWith("\"") && cleanUrl.endsWith("\"")) {
-                        cleanUrl = cleanUrl.substring(1, cleanUrl.length() - 1);
-                    }
-                    return cleanUrl.startsWith("http") ? cleanUrl : null;
-                } else {
-                    return imageField.startsWith("http") ? imageField : null;
-                }
-            } catch (Exception e) {
-                return null;
+        private void loadNewsImage(String imageUrl) {
+            if (imageUrl != null) {
+                ivImage.setVisibility(View.VISIBLE);
+                // 共享的请求模板不能直接修改，先复制再指定地址
+                thumbnailRequest.clone().load(imageUrl).addListener(thumbnailStatsListener).into(ivImage);
+            } else {
+                // 取消复用前这一行还未完成的请求
+                requestManager.clear(ivImage);
+                ivImage.setVisibility(View.GONE);
             }
         }
 
-        private void updateReadStatus(boolean isRead) {
+        /**
+         * 设置已读状态（已读新闻显示为灰色）
+         */
+        void updateReadStatus(boolean isRead) {
             if (isRead) {
-                // 已读新闻显示为灰色
-                tvTitle.setTextColor(context.getResources().getColor(R.color.text_secondary, null));
-                tvContent.setTextColor(context.getResources().getColor(R.color.text_hint, null));
+                tvTitle.setTextColor(readTitleColor);
+                tvContent.setTextColor(readContentColor);
                 itemView.setAlpha(0.7f);
             } else {
-                // 未读新闻显示正常颜色
-                tvTitle.setTextColor(context.getResources().getColor(R.color.text_primary, null));
-                tvContent.setTextColor(context.getResources().getColor(R.color.text_secondary, null));
+                tvTitle.setTextColor(titleColor);
+                tvContent.setTextColor(contentColor);
                 itemView.setAlpha(1.0f);
             }
         }
-
-        private String formatTime(String publishTime) {
-            if (publishTime == null || publishTime.isEmpty()) {
-                return "未知时间";
-            }
-
-            try {
-                SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-                Date date = inputFormat.parse(publishTime);
-
-                if (date != null) {
-                    long now = System.currentTimeMillis();
-                    long diff = now - date.getTime();
-
-                    // 计算时间差
-                    if (diff < 60 * 1000) {
-                        return "刚刚";
-                    } else if (diff < 60 * 60 * 1000) {
-                        return (diff / (60 * 1000)) + "分钟前";
-                    } else if (diff < 24 * 60 * 60 * 1000) {
-                        return (diff / (60 * 60 * 1000)) + "小时前";
-                    } else if (diff < 7 * 24 * 60 * 60 * 1000) {
-                        return (diff / (24 * 60 * 60 * 1000)) + "天前";
-                    } else {
-                        // 超过一周显示具体日期
-                        SimpleDateFormat outputFormat = new SimpleDateFormat("MM-dd HH:mm", Locale.getDefault());
-                        return outputFormat.format(date);
-                    }
-                }
-            } catch (Exception e) {
-                // 解析失败，直接显示原始时间的前16位
-                return publishTime.length() > 16 ? publishTime.substring(0, 16) : publishTime;
-            }
-
-            return publishTime;
-        }
     }
-}
\ No newline at end of file
+}
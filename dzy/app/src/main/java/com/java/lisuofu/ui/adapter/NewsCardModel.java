@@ -0,0 +1,215 @@
+package com.java.lisuofu.ui.adapter;
+
+import androidx.core.text.PrecomputedTextCompat;
+import com.java.lisuofu.model.NewsItem;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+/**
+ * 新闻卡片的显示模型
+ * 在后台线程由 NewsItem 计算一次：解析发布时间、提取图片地址、截断正文预览，
+ * 已知 TextView 的排版参数时标题和预览也预先排版（PrecomputedText），
+ * 绑定视图时只做赋值，不再解析、排版或分配对象。
+ */
+final class NewsCardModel {
+
+    // 列表中正文最多显示两行，预览只保留前面一段
+    private static final int PREVIEW_MAX_CHARS = 80;
+
+    private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd HH:mm");
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long WEEK = 7 * DAY;
+
+    /**
+     * 相对时间的档位
+     */
+    enum TimeBucket {
+        JUST_NOW, MINUTES, HOURS, DAYS, DATE, UNKNOWN
+    }
+
+    /**
+     * 标题和预览 TextView 的排版参数，由适配器从第一个 ViewHolder 取得
+     */
+    static final class TextParams {
+        final PrecomputedTextCompat.Params title;
+        final PrecomputedTextCompat.Params preview;
+
+        TextParams(PrecomputedTextCompat.Params title, PrecomputedTextCompat.Params preview) {
+            this.title = title;
+            this.preview = preview;
+        }
+    }
+
+    final NewsItem item;
+    final long stableId;
+    final String title;
+    // 为空时隐藏正文和分类
+    final String preview;
+    // 预先排版的标题和预览，没有排版参数时与 title/preview 相同
+    final CharSequence titleText;
+    final CharSequence previewText;
+    // 排版所用的参数，为 null 表示未预先排版
+    final TextParams textParams;
+    final String category;
+    final String source;
+    // 解析失败时为 -1
+    final long publishEpochMillis;
+    final TimeBucket timeBucket;
+    final String timeText;
+    // 为空时隐藏图片
+    final String imageUrl;
+    final boolean read;
+    // 计算时间，相对时间文本过期判断用
+    final long createdAt;
+
+    private NewsCardModel(NewsItem item, long stableId, String title, String preview,
+                          CharSequence titleText, CharSequence previewText, TextParams textParams,
+                          String category, String source, long publishEpochMillis, TimeBucket timeBucket,
+                          String timeText, String imageUrl, boolean read, long createdAt) {
+        this.item = item;
+        this.stableId = stableId;
+        this.title = title;
+        this.preview = preview;
+        this.titleText = titleText;
+        this.previewText = previewText;
+        this.textParams = textParams;
+        this.category = category;
+        this.source = source;
+        this.publishEpochMillis = publishEpochMillis;
+        this.timeBucket = timeBucket;
+        this.timeText = timeText;
+        this.imageUrl = imageUrl;
+        this.read = read;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 由新闻计算显示模型，now 为计算相对时间的基准；textParams 不为 null 时预先排版标题和预览
+     */
+    static NewsCardModel from(NewsItem item, long stableId, boolean read, long now, TextParams textParams) {
+        String title = item.getTitle() != null ? item.getTitle() : "无标题";
+        String category = item.getCategory() != null && !item.getCategory().isEmpty() ? item.getCategory() : null;
+        String source = item.getPublisher() != null ? item.getPublisher() : "未知来源";
+
+        String publishTime = item.getPublishTime();
+        long epochMillis = parseEpochMillis(publishTime);
+        TimeBucket bucket = bucketOf(epochMillis, now);
+        String timeText = formatTime(publishTime, epochMillis, bucket, now);
+
+        String preview = buildPreview(item.getContent());
+        CharSequence titleText = title;
+        CharSequence previewText = preview;
+        if (textParams != null) {
+            titleText = PrecomputedTextCompat.create(title, textParams.title);
+            if (preview != null) {
+                previewText = PrecomputedTextCompat.create(preview, textParams.preview);
+            }
+        }
+
+        return new NewsCardModel(item, stableId, title, preview, titleText, previewText, textParams,
+                category, source, epochMillis, bucket, timeText, getFirstImageUrl(item.getImage()), read, now);
+    }
+
+    /**
+     * 只有已读状态不同时复用其余字段
+     */
+    NewsCardModel withRead(boolean read) {
+        if (read == this.read) return this;
+        return new NewsCardModel(item, stableId, title, preview, titleText, previewText, textParams,
+                category, source, publishEpochMillis, timeBucket, timeText, imageUrl, read, createdAt);
+    }
+
+    /**
+     * 卡片上显示的内容（不含已读状态）是否相同
+     */
+    boolean sameContent(NewsCardModel other) {
+        return Objects.equals(title, other.title)
+                && Objects.equals(preview, other.preview)
+                && Objects.equals(category, other.category)
+                && Objects.equals(source, other.source)
+                && Objects.equals(timeText, other.timeText)
+                && Objects.equals(imageUrl, other.imageUrl);
+    }
+
+    private static String buildPreview(String content) {
+        if (content == null) return null;
+        String trimmed = content.trim();
+        if (trimmed.isEmpty()) return null;
+        if (trimmed.length() <= PREVIEW_MAX_CHARS) return trimmed;
+
+        int end = PREVIEW_MAX_CHARS;
+        if (Character.isHighSurrogate(trimmed.charAt(end - 1))) {
+            end--;
+        }
+        return trimmed.substring(0, end);
+    }
+
+    private static long parseEpochMillis(String publishTime) {
+        if (publishTime == null || publishTime.isEmpty()) return -1;
+        try {
+            return LocalDateTime.parse(publishTime, INPUT_FORMAT)
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant()
+                    .toEpochMilli();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static TimeBucket bucketOf(long epochMillis, long now) {
+        if (epochMillis < 0) return TimeBucket.UNKNOWN;
+        long diff = now - epochMillis;
+        if (diff < MINUTE) return TimeBucket.JUST_NOW;
+        if (diff < HOUR) return TimeBucket.MINUTES;
+        if (diff < DAY) return TimeBucket.HOURS;
+        if (diff < WEEK) return TimeBucket.DAYS;
+        return TimeBucket.DATE;
+    }
+
+    private static String formatTime(String publishTime, long epochMillis, TimeBucket bucket, long now) {
+        long diff = now - epochMillis;
+        switch (bucket) {
+            case JUST_NOW:
+                return "刚刚";
+            case MINUTES:
+                return (diff / MINUTE) + "分钟前";
+            case HOURS:
+                return (diff / HOUR) + "小时前";
+            case DAYS:
+                return (diff / DAY) + "天前";
+            case DATE:
+                // 超过一周显示具体日期
+                return DATE_FORMAT.format(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+            default:
+                if (publishTime == null || publishTime.isEmpty()) {
+                    return "未知时间";
+                }
+                // 解析失败，直接显示原始时间的前16位
+                return publishTime.length() > 16 ? publishTime.substring(0, 16) : publishTime;
+        }
+    }
+
+    private static String getFirstImageUrl(String imageField) {
+        if (imageField == null || imageField.isEmpty() || "[]".equals(imageField)) {
+            return null;
+        }
+
+        // 处理数组格式的图片URL：'["URL"]' 或 '[URL]'
+        if (imageField.startsWith("[") && imageField.endsWith("]")) {
+            String cleanUrl = imageField.substring(1, imageField.length() - 1);
+            if (cleanUrl.startsWith("\"") && cleanUrl.endsWith("\"") && cleanUrl.length() >= 2) {
+                cleanUrl = cleanUrl.substring(1, cleanUrl.length() - 1);
+            }
+            return cleanUrl.startsWith("http") ? cleanUrl : null;
+        }
+        return imageField.startsWith("http") ? imageField : null;
+    }
+}
@@ -1,6 +1,5 @@
 package com.java.lisuofu.ui.fragment;
 
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -17,24 +16,18 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.java.lisuofu.R;
+import com.java.lisuofu.data.FavoritesStore;
 import com.java.lisuofu.model.NewsItem;
 import com.java.lisuofu.ui.activity.NewsDetailActivity;
 import com.java.lisuofu.ui.adapter.NewsAdapter;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
-import static android.content.Context.MODE_PRIVATE;
-
 public class FavoriteFragment extends Fragment {
 
     private static final String TAG = "FavoriteFragment";
-    private static final String PREF_NAME = "news_prefs";
-    private static final String KEY_FAVORITES = "favorites";
-    private static final String KEY_FAVORITE_NEWS_DATA = "favorite_news_data";
+    private static final int PAGE_SIZE = 30;
 
     // UI组件
     private RecyclerView recyclerView;
@@ -43,16 +36,13 @@ public class FavoriteFragment extends Fragment {
     private NewsAdapter newsAdapter;
 
     // 数据
-    private SharedPreferences preferences;
-    private Gson gson;
-    private List<NewsItem> favoriteNewsList = new ArrayList<>();
-
-    @Override
-    public void onCreate(@Nullable Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        preferences = requireContext().getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        gson = new Gson();
-    }
+    private final List<NewsItem> favoriteNewsList = new ArrayList<>();
+    private boolean isLoadingPage = false;
+    private boolean hasMore = true;
+    // 已加载数据对应的收藏版本，版本未变时回到页面不重新加载
+    private int loadedVersion = -1;
+    // 每次重新加载递增，丢弃过期的分页结果
+    private int loadGeneration = 0;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
@@ -64,14 +54,17 @@ public class FavoriteFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         initViews(view);
         setupRecyclerView();
+        loadedVersion = -1;
         loadFavoriteNews();
     }
 
     @Override
     public void onResume() {
         super.onResume();
-        // 每次回到页面时刷新数据，因为可能有新的收藏或取消收藏
-        loadFavoriteNews();
+        // 只有收藏发生变化时才重新加载
+        if (loadedVersion != FavoritesStore.get(requireContext()).getVersion()) {
+            loadFavoriteNews();
+        }
     }
 
     private void initViews(View view) {
@@ -84,6 +77,7 @@ public class FavoriteFragment extends Fragment {
         newsAdapter = new NewsAdapter(requireContext());
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         recyclerView.setAdapter(newsAdapter);
+        newsAdapter.attachImagePreloader(recyclerView);
 
         // 设置点击监听
         newsAdapter.setOnNewsItemClickListener(new NewsAdapter.OnNewsItemClickListener() {
@@ -93,36 +87,69 @@ public class FavoriteFragment extends Fragment {
                 NewsDetailActivity.start(requireContext(), newsItem);
             }
         });
+
+        // 滑到底部附近时加载下一页
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition() >= favoriteNewsList.size() - 5) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     /**
-     * 加载收藏的新闻
+     * 从第一页重新加载收藏的新闻
      */
     private void loadFavoriteNews() {
-        List<String> favoriteIds = getFavoritesList();
-        List<NewsItem> savedFavoriteNews = getSavedFavoriteNewsData();
-
+        FavoritesStore store = FavoritesStore.get(requireContext());
+        loadedVersion = store.getVersion();
+        loadGeneration++;
         favoriteNewsList.clear();
+        hasMore = true;
+        isLoadingPage = false;
+        loadNextPage();
+    }
 
-        // 根据收藏ID列表，获取对应的新闻数据
-        for (String newsId : favoriteIds) {
-            NewsItem newsItem = findNewsById(savedFavoriteNews, newsId);
-            if (newsItem != null) {
-                newsItem.setFavorite(true); // 确保收藏状态正确
-                favoriteNewsList.add(newsItem);
-            }
-        }
-
-        // 更新UI
-        updateUI();
+    /**
+     * 按收藏时间从新到旧加载下一页
+     */
+    private void loadNextPage() {
+        if (isLoadingPage || !hasMore) return;
+        isLoadingPage = true;
+
+        int generation = loadGeneration;
+        long before = favoriteNewsList.isEmpty()
+                ? Long.MAX_VALUE
+                : favoriteNewsList.get(favoriteNewsList.size() - 1).getFavoriteTime();
+
+        FavoritesStore.get(requireContext()).loadPage(before, PAGE_SIZE, items -> {
+            if (getActivity() == null) return;
+            getActivity().runOnUiThread(() -> {
+                if (generation != loadGeneration || !isAdded() || getView() == null) return;
+
+                isLoadingPage = false;
+                hasMore = items.size() >= PAGE_SIZE;
+                for (NewsItem item : items) {
+                    item.setFavorite(true);
+                }
+                favoriteNewsList.addAll(items);
+                updateUI();
 
-        Log.d(TAG, "加载收藏新闻数量: " + favoriteNewsList.size());
+                Log.d(TAG, "加载收藏新闻: 本页 " + items.size() + " 条, 共 " + favoriteNewsList.size() + " 条");
+            });
+        });
     }
 
     /**
      * 更新UI显示
      */
     private void updateUI() {
+        int total = FavoritesStore.get(requireContext()).size();
         if (favoriteNewsList.isEmpty()) {
             recyclerView.setVisibility(View.GONE);
             emptyLayout.setVisibility(View.VISIBLE);
@@ -130,60 +157,10 @@ public class FavoriteFragment extends Fragment {
         } else {
             recyclerView.setVisibility(View.VISIBLE);
             emptyLayout.setVisibility(View.GONE);
-            favoriteCountText.setText(favoriteNewsList.size() + "篇");
+            favoriteCountText.setText(total + "篇");
 
-            newsAdapter.setNewsList(favoriteNewsList);
-        }
-    }
-
-    /**
-     * 根据ID查找新闻
-     */
-    private NewsItem findNewsById(List<NewsItem> newsList, String newsId) {
-        for (NewsItem newsItem : newsList) {
-            if (newsId.equals(newsItem.getNewsId())) {
-                return newsItem;
-            }
+            newsAdapter.setNewsList(new ArrayList<>(favoriteNewsList));
         }
-        return null;
-    }
-
-    // ========== SharedPreferences 相关方法 ==========
-
-    /**
-     * 获取收藏列表ID
-     */
-    private List<String> getFavoritesList() {
-        String json = preferences.getString(KEY_FAVORITES, "[]");
-        Type type = new TypeToken<List<String>>(){}.getType();
-        List<String> favorites = gson.fromJson(json, type);
-        return favorites != null ? favorites : new ArrayList<>();
-    }
-
-    /**
-     * 保存收藏列表ID
-     */
-    private void saveFavoritesList(List<String> favorites) {
-        String json = gson.toJson(favorites);
-        preferences.edit().putString(KEY_FAVORITES, json).apply();
-    }
-
-    /**
-     * 获取收藏的新闻完整数据
-     */
-    private List<NewsItem> getSavedFavoriteNewsData() {
-        String json = preferences.getString(KEY_FAVORITE_NEWS_DATA, "[]");
-        Type type = new TypeToken<List<NewsItem>>(){}.getType();
-        List<NewsItem> favoriteNews = gson.fromJson(json, type);
-        return favoriteNews != null ? favoriteNews : new ArrayList<>();
-    }
-
-    /**
-     * 保存收藏的新闻完整数据
-     */
-    private void saveFavoriteNewsData(List<NewsItem> favoriteNews) {
-        String json = gson.toJson(favoriteNews);
-        preferences.edit().putString(KEY_FAVORITE_NEWS_DATA, json).apply();
     }
 
     // ========== 静态方法，供其他地方调用 ==========
@@ -194,45 +171,8 @@ public class FavoriteFragment extends Fragment {
     public static void addFavorite(android.content.Context context, NewsItem newsItem) {
         if (newsItem == null || newsItem.getNewsId() == null) return;
 
-        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        Gson gson = new Gson();
-
-        // 更新收藏ID列表
-        String favoritesJson = preferences.getString(KEY_FAVORITES, "[]");
-        Type listType = new TypeToken<List<String>>(){}.getType();
-        List<String> favorites = gson.fromJson(favoritesJson, listType);
-        if (favorites == null) favorites = new ArrayList<>();
-
-        if (!favorites.contains(newsItem.getNewsId())) {
-            favorites.add(newsItem.getNewsId());
-
-            // 保存收藏ID列表
-            String updatedFavoritesJson = gson.toJson(favorites);
-            preferences.edit().putString(KEY_FAVORITES, updatedFavoritesJson).apply();
-
-            // 更新收藏新闻数据
-            String newsDataJson = preferences.getString(KEY_FAVORITE_NEWS_DATA, "[]");
-            Type newsListType = new TypeToken<List<NewsItem>>(){}.getType();
-            List<NewsItem> favoriteNewsData = gson.fromJson(newsDataJson, newsListType);
-            if (favoriteNewsData == null) favoriteNewsData = new ArrayList<>();
-
-            // 检查是否已存在，不存在则添加
-            boolean exists = false;
-            for (NewsItem item : favoriteNewsData) {
-                if (newsItem.getNewsId().equals(item.getNewsId())) {
-                    exists = true;
-                    break;
-                }
-            }
-
-            if (!exists) {
-                favoriteNewsData.add(newsItem);
-                String updatedNewsDataJson = gson.toJson(favoriteNewsData);
-                preferences.edit().putString(KEY_FAVORITE_NEWS_DATA, updatedNewsDataJson).apply();
-            }
-
-            Log.d(TAG, "添加收藏: " + newsItem.getTitle());
-        }
+        FavoritesStore.get(context).add(newsItem);
+        Log.d(TAG, "添加收藏: " + newsItem.getTitle());
     }
 
     /**
@@ -241,32 +181,7 @@ public class FavoriteFragment extends Fragment {
     public static void removeFavorite(android.content.Context context, NewsItem newsItem) {
         if (newsItem == null || newsItem.getNewsId() == null) return;
 
-        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        Gson gson = new Gson();
-
-        // 更新收藏ID列表
-        String favoritesJson = preferences.getString(KEY_FAVORITES, "[]");
-        Type listType = new TypeToken<List<String>>(){}.getType();
-        List<String> favorites = gson.fromJson(favoritesJson, listType);
-        if (favorites == null) favorites = new ArrayList<>();
-
-        favorites.remove(newsItem.getNewsId());
-
-        // 保存收藏ID列表
-        String updatedFavoritesJson = gson.toJson(favorites);
-        preferences.edit().putString(KEY_FAVORITES, updatedFavoritesJson).apply();
-
-        // 更新收藏新闻数据
-        String newsDataJson = preferences.getString(KEY_FAVORITE_NEWS_DATA, "[]");
-        Type newsListType = new TypeToken<List<NewsItem>>(){}.getType();
-        List<NewsItem> favoriteNewsData = gson.fromJson(newsDataJson, newsListType);
-        if (favoriteNewsData == null) favoriteNewsData = new ArrayList<>();
-
-        favoriteNewsData.removeIf(item -> newsItem.getNewsId().equals(item.getNewsId()));
-
-        String updatedNewsDataJson = gson.toJson(favoriteNewsData);
-        preferences.edit().putString(KEY_FAVORITE_NEWS_DATA, updatedNewsDataJson).apply();
-
+        FavoritesStore.get(context).remove(newsItem);
         Log.d(TAG, "移除收藏: " + newsItem.getTitle());
     }
 
@@ -274,15 +189,6 @@ public class FavoriteFragment extends Fragment {
      * 检查是否已收藏
      */
     public static boolean isFavorite(android.content.Context context, String newsId) {
-        if (newsId == null) return false;
-
-        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        Gson gson = new Gson();
-
-        String favoritesJson = preferences.getString(KEY_FAVORITES, "[]");
-        Type listType = new TypeToken<List<String>>(){}.getType();
-        List<String> favorites = gson.fromJson(favoritesJson, listType);
-
-        return favorites != null && favorites.contains(newsId);
+        return FavoritesStore.get(context).isFavorite(newsId);
     }
-}
\ No newline at end of file
+}
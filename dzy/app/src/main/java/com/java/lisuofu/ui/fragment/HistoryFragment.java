@@ -1,11 +1,12 @@
 package com.java.lisuofu.ui.fragment;
 
-import android.content.SharedPreferences;
+import android.app.AlertDialog;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.Toast;
 
@@ -16,43 +17,36 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.java.lisuofu.R;
+import com.java.lisuofu.data.NewsStatusIndex;
+import com.java.lisuofu.data.ReadHistoryStore;
 import com.java.lisuofu.model.NewsItem;
 import com.java.lisuofu.ui.activity.NewsDetailActivity;
 import com.java.lisuofu.ui.adapter.NewsAdapter;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import static android.content.Context.MODE_PRIVATE;
-
 public class HistoryFragment extends Fragment {
 
     private static final String TAG = "HistoryFragment";
-    private static final String PREF_NAME = "news_prefs";
-    private static final String KEY_READ_NEWS = "read_news";
-    private static final String KEY_READ_NEWS_DATA = "read_news_data";
-    private static final String KEY_READ_TIMES = "read_times";
 
     // UI组件
     private RecyclerView recyclerView;
     private LinearLayout emptyLayout;
     private NewsAdapter newsAdapter;
 
-    // 数据
-    private SharedPreferences preferences;
-    private Gson gson;
-    private List<HistoryItem> historyList = new ArrayList<>();
+    // 保留策略选项：{最多条数, 最多天数}，天数为 0 表示不按时间淘汰
+    private static final int[][] RETENTION_OPTIONS = {
+            {100, 0}, {500, 0}, {1000, 0}, {1000, 7}, {1000, 30}
+    };
+    private static final String[] RETENTION_LABELS = {
+            "最近 100 条", "最近 500 条", "最近 1000 条", "最近 7 天（最多 1000 条）", "最近 30 天（最多 1000 条）"
+    };
 
-    @Override
-    public void onCreate(@Nullable Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        preferences = requireContext().getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        gson = new Gson();
-    }
+    // 数据
+    private final List<NewsItem> historyList = new ArrayList<>();
+    // 已加载数据对应的历史版本，版本未变时回到页面不重新加载
+    private int loadedVersion = -1;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
@@ -64,24 +58,57 @@ public class HistoryFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         initViews(view);
         setupRecyclerView();
-        loadReadHistory();
+        // 首次加载由 onResume 完成
+        loadedVersion = -1;
     }
 
     @Override
     public void onResume() {
         super.onResume();
-        loadReadHistory();
+        // 只有阅读记录发生变化时才重新加载
+        if (loadedVersion != ReadHistoryStore.get(requireContext()).getVersion()) {
+            loadReadHistory();
+        }
     }
 
     private void initViews(View view) {
         recyclerView = view.findViewById(R.id.recycler_history);
         emptyLayout = view.findViewById(R.id.layout_empty);
+        ImageButton retentionButton = view.findViewById(R.id.btn_history_retention);
+        retentionButton.setOnClickListener(v -> showRetentionDialog());
+    }
+
+    /**
+     * 选择阅读历史的保留策略，收紧后立即按新策略淘汰并刷新列表
+     */
+    private void showRetentionDialog() {
+        ReadHistoryStore store = ReadHistoryStore.get(requireContext());
+        int checked = -1;
+        for (int i = 0; i < RETENTION_OPTIONS.length; i++) {
+            if (RETENTION_OPTIONS[i][0] == store.getMaxEntries() && RETENTION_OPTIONS[i][1] == store.getMaxAgeDays()) {
+                checked = i;
+                break;
+            }
+        }
+
+        new AlertDialog.Builder(requireContext())
+                .setTitle("阅读历史保留")
+                .setSingleChoiceItems(RETENTION_LABELS, checked, (dialog, which) -> {
+                    store.setRetention(RETENTION_OPTIONS[which][0], RETENTION_OPTIONS[which][1]);
+                    dialog.dismiss();
+                    if (loadedVersion != store.getVersion()) {
+                        loadReadHistory();
+                    }
+                })
+                .setNegativeButton("取消", null)
+                .show();
     }
 
     private void setupRecyclerView() {
         newsAdapter = new NewsAdapter(requireContext());
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         recyclerView.setAdapter(newsAdapter);
+        newsAdapter.attachImagePreloader(recyclerView);
 
         newsAdapter.setOnNewsItemClickListener(new NewsAdapter.OnNewsItemClickListener() {
             @Override
@@ -92,25 +119,20 @@ public class HistoryFragment extends Fragment {
     }
 
     private void loadReadHistory() {
-        List<String> readNewsIds = getReadNewsList();
-        List<NewsItem> savedReadNews = getSavedReadNewsData();
-        java.util.Map<String, Long> readTimes = getReadTimes();
-
-        historyList.clear();
-
-        for (String newsId : readNewsIds) {
-            NewsItem newsItem = findNewsById(savedReadNews, newsId);
-            if (newsItem != null) {
-                Long readTime = readTimes.get(newsId);
-                HistoryItem historyItem = new HistoryItem(newsItem, readTime != null ? readTime : System.currentTimeMillis());
-                historyList.add(historyItem);
-            }
-        }
-
-        Collections.sort(historyList, (a, b) -> Long.compare(b.readTime, a.readTime));
-        updateUI();
-
-        Log.d(TAG, "加载阅读历史数量: " + historyList.size());
+        ReadHistoryStore store = ReadHistoryStore.get(requireContext());
+        loadedVersion = store.getVersion();
+        store.loadHistory(items -> {
+            if (getActivity() == null) return;
+            getActivity().runOnUiThread(() -> {
+                if (!isAdded() || getView() == null) return;
+
+                historyList.clear();
+                historyList.addAll(items);
+                updateUI();
+
+                Log.d(TAG, "加载阅读历史数量: " + historyList.size());
+            });
+        });
     }
 
     private void updateUI() {
@@ -121,45 +143,10 @@ public class HistoryFragment extends Fragment {
             recyclerView.setVisibility(View.VISIBLE);
             emptyLayout.setVisibility(View.GONE);
 
-            List<NewsItem> newsItems = new ArrayList<>();
-            for (HistoryItem historyItem : historyList) {
-                NewsItem newsItem = historyItem.newsItem;
-                newsItem.setFavorite(FavoriteFragment.isFavorite(requireContext(), newsItem.getNewsId()));
-                newsItems.add(newsItem);
-            }
-
-            newsAdapter.setNewsList(newsItems);
-        }
-    }
+            NewsStatusIndex.get(requireContext()).applyTo(historyList);
 
-    private NewsItem findNewsById(List<NewsItem> newsList, String newsId) {
-        for (NewsItem newsItem : newsList) {
-            if (newsId.equals(newsItem.getNewsId())) {
-                return newsItem;
-            }
+            newsAdapter.setNewsList(new ArrayList<>(historyList));
         }
-        return null;
-    }
-
-    private List<String> getReadNewsList() {
-        String json = preferences.getString(KEY_READ_NEWS, "[]");
-        Type type = new TypeToken<List<String>>(){}.getType();
-        List<String> readNews = gson.fromJson(json, type);
-        return readNews != null ? readNews : new ArrayList<>();
-    }
-
-    private List<NewsItem> getSavedReadNewsData() {
-        String json = preferences.getString(KEY_READ_NEWS_DATA, "[]");
-        Type type = new TypeToken<List<NewsItem>>(){}.getType();
-        List<NewsItem> readNews = gson.fromJson(json, type);
-        return readNews != null ? readNews : new ArrayList<>();
-    }
-
-    private java.util.Map<String, Long> getReadTimes() {
-        String json = preferences.getString(KEY_READ_TIMES, "{}");
-        Type type = new TypeToken<java.util.Map<String, Long>>(){}.getType();
-        java.util.Map<String, Long> readTimes = gson.fromJson(json, type);
-        return readTimes != null ? readTimes : new java.util.HashMap<>();
     }
 
     // ========== 静态方法供外部调用 ==========
@@ -167,73 +154,11 @@ public class HistoryFragment extends Fragment {
     public static void addReadRecord(android.content.Context context, NewsItem newsItem) {
         if (newsItem == null || newsItem.getNewsId() == null) return;
 
-        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        Gson gson = new Gson();
-        long currentTime = System.currentTimeMillis();
-
-        String readNewsJson = preferences.getString(KEY_READ_NEWS, "[]");
-        Type listType = new TypeToken<List<String>>(){}.getType();
-        List<String> readNews = gson.fromJson(readNewsJson, listType);
-        if (readNews == null) readNews = new ArrayList<>();
-
-        readNews.remove(newsItem.getNewsId());
-        readNews.add(0, newsItem.getNewsId());
-
-        if (readNews.size() > 100) {
-            readNews = readNews.subList(0, 100);
-        }
-
-        String updatedReadNewsJson = gson.toJson(readNews);
-        preferences.edit().putString(KEY_READ_NEWS, updatedReadNewsJson).apply();
-
-        String newsDataJson = preferences.getString(KEY_READ_NEWS_DATA, "[]");
-        Type newsListType = new TypeToken<List<NewsItem>>(){}.getType();
-        List<NewsItem> readNewsData = gson.fromJson(newsDataJson, newsListType);
-        if (readNewsData == null) readNewsData = new ArrayList<>();
-
-        readNewsData.removeIf(item -> newsItem.getNewsId().equals(item.getNewsId()));
-        readNewsData.add(0, newsItem);
-
-        if (readNewsData.size() > 100) {
-            readNewsData = readNewsData.subList(0, 100);
-        }
-
-        String updatedNewsDataJson = gson.toJson(readNewsData);
-        preferences.edit().putString(KEY_READ_NEWS_DATA, updatedNewsDataJson).apply();
-
-        String readTimesJson = preferences.getString(KEY_READ_TIMES, "{}");
-        Type mapType = new TypeToken<java.util.Map<String, Long>>(){}.getType();
-        java.util.Map<String, Long> readTimes = gson.fromJson(readTimesJson, mapType);
-        if (readTimes == null) readTimes = new java.util.HashMap<>();
-
-        readTimes.put(newsItem.getNewsId(), currentTime);
-
-        String updatedReadTimesJson = gson.toJson(readTimes);
-        preferences.edit().putString(KEY_READ_TIMES, updatedReadTimesJson).apply();
-
+        ReadHistoryStore.get(context).addReadRecord(newsItem);
         Log.d(TAG, "添加阅读记录: " + newsItem.getTitle());
     }
 
     public static boolean isRead(android.content.Context context, String newsId) {
-        if (newsId == null) return false;
-
-        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        Gson gson = new Gson();
-
-        String readNewsJson = preferences.getString(KEY_READ_NEWS, "[]");
-        Type listType = new TypeToken<List<String>>(){}.getType();
-        List<String> readNews = gson.fromJson(readNewsJson, listType);
-
-        return readNews != null && readNews.contains(newsId);
-    }
-
-    private static class HistoryItem {
-        NewsItem newsItem;
-        long readTime;
-
-        HistoryItem(NewsItem newsItem, long readTime) {
-            this.newsItem = newsItem;
-            this.readTime = readTime;
-        }
+        return ReadHistoryStore.get(context).isRead(newsId);
     }
-}
\ No newline at end of file
+}
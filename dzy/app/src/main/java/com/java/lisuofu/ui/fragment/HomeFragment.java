@@ -1,10 +1,12 @@
 package com.java.lisuofu.ui.fragment;
 
 import android.app.AlertDialog;
+import android.content.Context;
 import android.content.SharedPreferences;     // 本地数据存储
 import android.os.Bundle;                     // 状态保存和恢复
 import android.os.Handler;                    // 主线程消息处理
 import android.os.Looper;                     // 消息循环
+import android.os.SystemClock;                // 滚动速度计时
 
 import android.text.Editable;
 import android.text.TextWatcher;
@@ -30,22 +32,40 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import com.java.lisuofu.R;
+import com.java.lisuofu.data.FeedSnapshotStore;
+import com.java.lisuofu.data.NewsRepository;
+import com.java.lisuofu.data.NewsStatusIndex;
+import com.java.lisuofu.model.NewsGson;
 import com.java.lisuofu.model.NewsItem;
 import com.java.lisuofu.model.NewsResponse;
+import com.java.lisuofu.model.StringInterner;
+import com.java.lisuofu.service.CategoryFeedLoader;
 import com.java.lisuofu.service.GLMService;
+import com.java.lisuofu.service.HttpTransport;
+import com.java.lisuofu.service.LatencyMetrics;
 import com.java.lisuofu.service.NewsApiService;
+import com.java.lisuofu.service.NewsPrefetcher;
+import com.java.lisuofu.service.RequestHandle;
+import com.java.lisuofu.ui.RequestTracker;
 import com.java.lisuofu.ui.activity.NewsDetailActivity;
 import com.java.lisuofu.ui.adapter.NewsAdapter;
 import com.java.lisuofu.ui.adapter.CategoryManageAdapter;
+import com.java.lisuofu.util.ThumbnailStats;
+import com.java.lisuofu.util.TraceLog;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static android.content.Context.MODE_PRIVATE;
 
@@ -54,6 +74,9 @@ public class HomeFragment extends Fragment {
     private static final String TAG = "HomeFragment";
     private static final String PREF_NAME = "news_prefs";
     private static final String KEY_SELECTED_CATEGORIES = "selected_categories";
+    private static final String LATENCY_REPORT_FILE = "latency_metrics.txt";
+    private static final String TRACE_LOG_FILE = "trace_log.txt";
+    private static final int OFFLINE_PAGE_SIZE = 50;
 
     // 所有可用的新闻分类（不包含"其他"，因为"其他"分类的新闻不会显示）
     private static final String[] ALL_CATEGORIES = {
@@ -87,6 +110,25 @@ public class HomeFragment extends Fragment {
     private boolean isLoading = false;
     private List<NewsItem> newsList = new ArrayList<>();
     private String currentSearchKeyword = ""; // 当前搜索关键词
+    // 关键词搜索：本地索引命中与API结果按 newsId 合并展示
+    private int searchGeneration = 0;
+    private final List<NewsItem> localSearchHits = new ArrayList<>();
+    private boolean searchListShown = false; // 列表是否已替换为本次搜索的结果
+
+    // 预取相关
+    private static final float FAST_SCROLL_VELOCITY = 3.0f; // 像素/毫秒
+    private static final int MAX_PREFETCH_PAGES = 2;
+    private NewsPrefetcher newsPrefetcher;
+    private CategoryFeedLoader categoryFeedLoader;
+
+    // 与视图生命周期绑定的请求
+    private RequestTracker viewRequests;
+    private RequestHandle currentRequest;
+    // 视图创建时间，用于统计首屏耗时
+    private long viewCreatedAt;
+    private boolean firstCardShown = false;
+    private float scrollVelocity = 0f;
+    private long lastScrollTime = 0;
     
     // 防抖处理
     private Handler filterHandler = new Handler(Looper.getMainLooper());
@@ -106,10 +148,15 @@ public class HomeFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        viewRequests = RequestTracker.bindTo(getViewLifecycleOwner());
+        viewCreatedAt = SystemClock.elapsedRealtime();
+        firstCardShown = !newsList.isEmpty();
         initViews(view);
         setupRecyclerView();
         setupCategoryTabs();
         loadNews(true);
+        // 网络返回前先显示上次保存的快照
+        showSnapshot(currentCategory);
     }
 
     @Override
@@ -117,14 +164,16 @@ public class HomeFragment extends Fragment {
         super.onResume();
         // 刷新新闻状态（收藏、已读状态可能已改变）
         updateNewsStatus(newsList);
-        newsAdapter.notifyDataSetChanged();
+        newsAdapter.setNewsList(newsList);
     }
 
     private void initServices() {
         newsApiService = new NewsApiService();
+        newsPrefetcher = new NewsPrefetcher(newsApiService);
+        categoryFeedLoader = new CategoryFeedLoader(newsApiService);
         glmService = new GLMService();
         preferences = requireContext().getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        gson = new Gson();
+        gson = NewsGson.get();
         
         // 加载用户选择的分类
         loadSelectedCategories();
@@ -150,6 +199,11 @@ public class HomeFragment extends Fragment {
         
         // 设置分类管理按钮点击事件
         btnCategoryManage.setOnClickListener(v -> showCategoryManageDialog());
+        // 长按打开网络耗时统计（调试用）
+        btnCategoryManage.setOnLongClickListener(v -> {
+            showLatencyMetricsDialog();
+            return true;
+        });
         
         // 设置搜索功能
         setupSearchFunctionality();
@@ -187,6 +241,52 @@ public class HomeFragment extends Fragment {
         preferences.edit().putString(KEY_SELECTED_CATEGORIES, json).apply();
     }
 
+    /**
+     * 显示网络请求各阶段耗时统计，可连同追踪日志一起导出到文件
+     */
+    private void showLatencyMetricsDialog() {
+        String report = LatencyMetrics.get().report() +
+                "\n[传输层]\n  " + HttpTransport.get().getStats() +
+                "\n[字符串池]\n  " + StringInterner.shared().getStats() +
+                "\n[列表缩略图]\n  " + ThumbnailStats.shared().getStats() +
+                "\n[追踪日志]\n  " + (TraceLog.isEnabled() ? TraceLog.size() + " 条，导出时写入 " + TRACE_LOG_FILE : "未开启");
+
+        new AlertDialog.Builder(requireContext())
+                .setTitle("网络耗时统计 (ms)")
+                .setMessage(report)
+                .setPositiveButton("导出", (dialog, which) -> exportLatencyMetrics())
+                .setNeutralButton("清空", (dialog, which) -> {
+                    LatencyMetrics.get().reset();
+                    ThumbnailStats.shared().reset();
+                    TraceLog.clear();
+                })
+                .setNegativeButton("关闭", null)
+                .show();
+    }
+
+    private void exportLatencyMetrics() {
+        Context appContext = requireContext().getApplicationContext();
+        File dir = appContext.getExternalFilesDir(null);
+        File file = new File(dir, LATENCY_REPORT_FILE);
+        File traceFile = new File(dir, TRACE_LOG_FILE);
+        HttpTransport.get().getExecutorService().execute(() -> {
+            String message;
+            try {
+                LatencyMetrics.get().exportTo(file);
+                message = "已导出到 " + file.getAbsolutePath();
+                if (TraceLog.size() > 0) {
+                    TraceLog.exportTo(traceFile);
+                    message += "\n追踪日志: " + traceFile.getAbsolutePath();
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "导出耗时统计失败", e);
+                message = "导出失败: " + e.getMessage();
+            }
+            String toast = message;
+            new Handler(Looper.getMainLooper()).post(() -> Toast.makeText(appContext, toast, Toast.LENGTH_LONG).show());
+        });
+    }
+
     /**
      * 显示分类管理对话框
      */
@@ -281,13 +381,13 @@ public class HomeFragment extends Fragment {
         newsAdapter = new NewsAdapter(requireContext());
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         recyclerView.setAdapter(newsAdapter);
+        newsAdapter.attachImagePreloader(recyclerView);
 
         // 设置新闻项目点击监听
         newsAdapter.setOnNewsItemClickListener(new NewsAdapter.OnNewsItemClickListener() {
             @Override
             public void onNewsClick(NewsItem newsItem) {
-                // 添加到阅读记录
-                HistoryFragment.addReadRecord(requireContext(), newsItem);
+                // 阅读记录由详情页 onCreate 统一添加，这里只更新列表状态
                 // 标记为已读
                 newsItem.setRead(true);
                 // 打开新闻详情页
@@ -300,6 +400,7 @@ public class HomeFragment extends Fragment {
             @Override
             public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
                 super.onScrolled(recyclerView, dx, dy);
+                updateScrollVelocity(dy);
 
                 LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
                 if (layoutManager != null && !isLoading && dy > 0) {
@@ -315,6 +416,24 @@ public class HomeFragment extends Fragment {
         });
     }
 
+    /**
+     * 估算当前滚动速度，快速滑动时提前预取更多页面
+     */
+    private void updateScrollVelocity(int dy) {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - lastScrollTime;
+        lastScrollTime = now;
+        if (elapsed <= 0 || elapsed > 200) {
+            scrollVelocity = 0f;
+            return;
+        }
+
+        scrollVelocity = Math.abs(dy) / (float) elapsed;
+        if (dy > 0 && scrollVelocity >= FAST_SCROLL_VELOCITY && !isLoading && currentPage > 1) {
+            prefetchAhead();
+        }
+    }
+
     private void setupCategoryTabs() {
         categoryContainer.removeAllViews();
 
@@ -346,14 +465,19 @@ public class HomeFragment extends Fragment {
 
         textView.setOnClickListener(v -> {
             if (!category.equals(currentCategory)) {
+                saveSnapshot();
                 currentCategory = category;
                 
                 // 切换分类时清除搜索状态
                 currentSearchKeyword = "";
                 searchEditText.setText("");
                 
+                // 清空旧分类的列表，先显示新分类的快照
+                newsList.clear();
+                newsAdapter.clearNews();
                 updateCategorySelection(category);
                 loadNews(true);
+                showSnapshot(category);
             }
         });
 
@@ -369,7 +493,8 @@ public class HomeFragment extends Fragment {
     }
 
     private void loadNews(boolean refresh) {
-        if (isLoading) return;
+        // 加载更多时不重复请求；刷新（切换分类、下拉刷新）会取消旧请求
+        if (isLoading && !refresh) return;
 
         // 如果有搜索关键词，根据类型选择相应的搜索方法
         if (!currentSearchKeyword.isEmpty()) {
@@ -383,77 +508,42 @@ public class HomeFragment extends Fragment {
             }
         }
 
+        cancelCurrentRequest();
         isLoading = true;
 
         if (refresh) {
             currentPage = 1;
             swipeRefreshLayout.setRefreshing(true);
+            // 分类切换或刷新后，之前的预取结果已失效
+            newsPrefetcher.cancelAll();
         }
 
-        NewsApiService.NewsRequestParams params;
-        if ("全部".equals(currentCategory)) {
-            params = NewsApiService.getDefaultTodayParams();
-        } else {
-            params = NewsApiService.getCategoryParams(currentCategory, currentPage);
+        // "全部"分类：按用户选择的分类分别并发请求再合并
+        List<String> fanOutCategories = getFanOutCategories();
+        if ("全部".equals(currentCategory) && !fanOutCategories.isEmpty()) {
+            loadMergedNews(fanOutCategories, refresh);
+            return;
         }
-        params.setPage(currentPage);
+
+        NewsApiService.NewsRequestParams params = buildFeedParams(currentPage);
 
         Log.d(TAG, "加载新闻: 分类=" + currentCategory + ", 页码=" + currentPage + ", 刷新=" + refresh);
 
-        newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
+        // 加载更多时优先使用已预取的页面
+        if (!refresh) {
+            NewsResponse prefetched = newsPrefetcher.take(params);
+            if (prefetched != null) {
+                Log.d(TAG, "命中预取页面: " + currentPage);
+                onNewsLoaded(prefetched, refresh);
+                return;
+            }
+        }
+
+        currentRequest = viewRequests.track(newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
             @Override
             public void onSuccess(NewsResponse response) {
                 if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        isLoading = false;
-                        swipeRefreshLayout.setRefreshing(false);
-                        // 隐藏底部加载指示器
-                        if (bottomLoadingIndicator != null) {
-                            bottomLoadingIndicator.setVisibility(View.GONE);
-                        }
-
-                        if (refresh) {
-                            // 刷新时总是清空现有列表
-                            newsList.clear();
-                            newsAdapter.clearNews();
-                        }
-
-                        if (response.getData() != null && !response.getData().isEmpty()) {
-                            List<NewsItem> newsItems = response.getData();
-
-                            // 调试：统计分类分布
-                            logCategoryDistribution(newsItems, "获取到的原始新闻");
-
-                            // 更新新闻的读取状态和收藏状态
-                            updateNewsStatus(newsItems);
-
-                            // 调试：统计处理后的分类分布（直接使用API分类）
-                            logCategoryDistribution(newsItems, "使用API分类的新闻");
-
-                            // 根据当前分类过滤新闻
-                            List<NewsItem> filteredNews = filterNewsByCategory(newsItems, currentCategory);
-                            
-                            // 调试：统计过滤后的分类分布
-                            logCategoryDistribution(filteredNews, "过滤后的新闻 (分类: " + currentCategory + ")");
-
-                            if (refresh) {
-                                newsList.addAll(filteredNews);  // 使用过滤后的新闻
-                                newsAdapter.setNewsList(newsList);
-                            } else {
-                                newsList.addAll(filteredNews);  // 使用过滤后的新闻
-                                newsAdapter.addNews(newsItems);
-                            }
-
-                            currentPage++;
-                            Log.d(TAG, "成功加载 " + newsItems.size() + " 条新闻");
-                        } else {
-                            // 无论是否刷新，都显示无数据提示
-                            Log.d(TAG, "当前分类 '" + currentCategory + "' 无新闻数据");
-                        }
-
-                        // 更新空状态显示
-                        updateEmptyState();
-                    });
+                    getActivity().runOnUiThread(() -> onNewsLoaded(response, refresh));
                 }
             }
 
@@ -479,12 +569,242 @@ public class HomeFragment extends Fragment {
                         
                         Toast.makeText(requireContext(), "加载失败: " + error, Toast.LENGTH_SHORT).show();
                         Log.e(TAG, "加载新闻失败: " + error);
+
+                        if (newsList.isEmpty()) {
+                            showCachedNews();
+                        }
+                    });
+                }
+            }
+        }));
+    }
+
+    /**
+     * "全部"分类需要并发加载的分类（用户选择的除"全部"以外的分类）
+     */
+    private List<String> getFanOutCategories() {
+        List<String> categories = new ArrayList<>();
+        for (String category : selectedCategories) {
+            if (!"全部".equals(category)) {
+                categories.add(category);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * 并发加载多个分类并按发布时间合并，最快的分类返回后立即显示
+     */
+    private void loadMergedNews(List<String> categories, boolean refresh) {
+        // 本页之前已显示的新闻，合并结果追加在其后
+        List<NewsItem> previousItems = refresh ? new ArrayList<>() : new ArrayList<>(newsList);
+        Set<String> previousIds = new HashSet<>();
+        for (NewsItem item : previousItems) {
+            previousIds.add(item.getNewsId());
+        }
+
+        Log.d(TAG, "并发加载分类: " + categories + ", 页码=" + currentPage);
+
+        currentRequest = viewRequests.track(categoryFeedLoader.load(categories, currentPage, new CategoryFeedLoader.MergedCallback() {
+            @Override
+            public void onPartial(List<NewsItem> merged) {
+                if (getActivity() != null) {
+                    getActivity().runOnUiThread(() -> showMergedNews(previousItems, previousIds, merged));
+                }
+            }
+
+            @Override
+            public void onComplete(List<NewsItem> merged, int failedCount) {
+                if (getActivity() != null) {
+                    getActivity().runOnUiThread(() -> {
+                        isLoading = false;
+                        showMergedNews(previousItems, previousIds, merged);
+
+                        if (failedCount >= categories.size()) {
+                            Toast.makeText(requireContext(), "加载失败: 获取新闻数据失败", Toast.LENGTH_SHORT).show();
+                            Log.e(TAG, "所有分类加载失败");
+                            if (newsList.isEmpty()) {
+                                showCachedNews();
+                            }
+                        } else if (!merged.isEmpty()) {
+                            currentPage++;
+                        }
                     });
                 }
             }
+        }));
+    }
+
+    /**
+     * 显示分类的快照，只在刷新尚未返回且列表为空时生效
+     */
+    private void showSnapshot(String category) {
+        if (!currentSearchKeyword.isEmpty() || !newsList.isEmpty()) return;
+
+        FeedSnapshotStore.get(requireContext()).load(category, items -> {
+            if (items.isEmpty() || getActivity() == null) return;
+            getActivity().runOnUiThread(() -> {
+                // 网络结果已返回、用户已切换分类或开始搜索
+                if (!isAdded() || getView() == null || !isLoading || !newsList.isEmpty()
+                        || !category.equals(currentCategory) || !currentSearchKeyword.isEmpty()) return;
+
+                updateNewsStatus(items);
+                newsList.addAll(items);
+                newsAdapter.setNewsList(newsList);
+                updateEmptyState();
+                reportFirstCard("快照");
+                Log.d(TAG, "显示快照新闻: " + category + " " + items.size() + " 条");
+            });
+        });
+    }
+
+    /**
+     * 保存当前分类已展示的第一页，搜索结果不保存
+     */
+    private void saveSnapshot() {
+        if (!currentSearchKeyword.isEmpty() || newsList.isEmpty()) return;
+        FeedSnapshotStore.get(requireContext()).save(currentCategory, newsList);
+    }
+
+    /**
+     * 记录从视图创建到第一张卡片显示的耗时
+     */
+    private void reportFirstCard(String source) {
+        if (firstCardShown || newsList.isEmpty()) return;
+        firstCardShown = true;
+        Log.d(TAG, "首屏耗时: " + (SystemClock.elapsedRealtime() - viewCreatedAt) + "ms, 来源: " + source);
+    }
+
+    /**
+     * 网络加载失败且列表为空时，显示本地数据库中该分类最新的新闻
+     */
+    private void showCachedNews() {
+        String category = currentCategory;
+        NewsRepository.get().loadFeed(category, OFFLINE_PAGE_SIZE, 0, items -> {
+            if (getActivity() == null) return;
+            getActivity().runOnUiThread(() -> {
+                // 加载期间用户已切换分类或列表已有数据
+                if (!isAdded() || !category.equals(currentCategory) || !newsList.isEmpty() || items.isEmpty()) return;
+
+                updateNewsStatus(items);
+                newsList.addAll(items);
+                newsAdapter.setNewsList(newsList);
+                updateEmptyState();
+                Toast.makeText(requireContext(), "网络不可用，显示本地缓存的新闻", Toast.LENGTH_SHORT).show();
+                Log.d(TAG, "显示本地缓存新闻: " + items.size() + " 条");
+            });
         });
     }
 
+    /**
+     * 显示合并结果（主线程）
+     */
+    private void showMergedNews(List<NewsItem> previousItems, Set<String> previousIds, List<NewsItem> merged) {
+        swipeRefreshLayout.setRefreshing(false);
+        if (bottomLoadingIndicator != null) {
+            bottomLoadingIndicator.setVisibility(View.GONE);
+        }
+
+        List<NewsItem> pageItems = new ArrayList<>();
+        for (NewsItem item : merged) {
+            if (!previousIds.contains(item.getNewsId())) {
+                pageItems.add(item);
+            }
+        }
+        updateNewsStatus(pageItems);
+
+        newsList.clear();
+        newsList.addAll(previousItems);
+        newsList.addAll(pageItems);
+        newsAdapter.setNewsList(newsList);
+
+        updateEmptyState();
+        reportFirstCard("网络");
+    }
+
+    /**
+     * 构建当前分类指定页码的请求参数
+     */
+    private NewsApiService.NewsRequestParams buildFeedParams(int page) {
+        NewsApiService.NewsRequestParams params;
+        if ("全部".equals(currentCategory)) {
+            params = NewsApiService.getDefaultTodayParams();
+        } else {
+            params = NewsApiService.getCategoryParams(currentCategory, page);
+        }
+        params.setPage(page);
+        return params;
+    }
+
+    /**
+     * 分类新闻加载成功（主线程）
+     */
+    private void onNewsLoaded(NewsResponse response, boolean refresh) {
+        isLoading = false;
+        swipeRefreshLayout.setRefreshing(false);
+        // 隐藏底部加载指示器
+        if (bottomLoadingIndicator != null) {
+            bottomLoadingIndicator.setVisibility(View.GONE);
+        }
+
+        if (refresh) {
+            // 刷新时总是清空现有列表
+            newsList.clear();
+            newsAdapter.clearNews();
+        }
+
+        if (response.getData() != null && !response.getData().isEmpty()) {
+            List<NewsItem> newsItems = response.getData();
+
+            // 调试：统计分类分布
+            logCategoryDistribution(newsItems, "获取到的原始新闻");
+
+            // 更新新闻的读取状态和收藏状态
+            updateNewsStatus(newsItems);
+
+            // 调试：统计处理后的分类分布（直接使用API分类）
+            logCategoryDistribution(newsItems, "使用API分类的新闻");
+
+            // 根据当前分类过滤新闻
+            List<NewsItem> filteredNews = filterNewsByCategory(newsItems, currentCategory);
+            
+            // 调试：统计过滤后的分类分布
+            if (TraceLog.isEnabled()) {
+                logCategoryDistribution(filteredNews, "过滤后的新闻 (分类: " + currentCategory + ")");
+            }
+
+            newsList.addAll(filteredNews);  // 使用过滤后的新闻
+            newsAdapter.setNewsList(newsList);
+
+            currentPage++;
+            Log.d(TAG, "成功加载 " + newsItems.size() + " 条新闻");
+            reportFirstCard("网络");
+
+            // 当前页已展示，预取后续页面
+            prefetchAhead();
+        } else {
+            // 无论是否刷新，都显示无数据提示
+            Log.d(TAG, "当前分类 '" + currentCategory + "' 无新闻数据");
+        }
+
+        // 更新空状态显示
+        updateEmptyState();
+    }
+
+    /**
+     * 根据滚动速度决定预取的页数：滑得越快预取越远
+     */
+    private void prefetchAhead() {
+        if (!currentSearchKeyword.isEmpty()) return;
+        // 多分类合并模式下每页由多个请求组成，不走单请求预取
+        if ("全部".equals(currentCategory) && !getFanOutCategories().isEmpty()) return;
+
+        int pagesAhead = scrollVelocity >= FAST_SCROLL_VELOCITY ? MAX_PREFETCH_PAGES : 1;
+        for (int i = 0; i < pagesAhead; i++) {
+            newsPrefetcher.prefetch(buildFeedParams(currentPage + i));
+        }
+    }
+
     private void loadMoreNews() {
         // 上拉加载更多时显示底部加载指示器
         if (bottomLoadingIndicator != null) {
@@ -497,12 +817,8 @@ public class HomeFragment extends Fragment {
      * 更新新闻状态（已读、收藏）
      */
     private void updateNewsStatus(List<NewsItem> newsItems) {
-        for (NewsItem newsItem : newsItems) {
-            if (newsItem.getNewsId() != null) {
-                newsItem.setRead(HistoryFragment.isRead(requireContext(), newsItem.getNewsId()));
-                newsItem.setFavorite(FavoriteFragment.isFavorite(requireContext(), newsItem.getNewsId()));
-            }
-        }
+        // 一页只做一次批量查询
+        NewsStatusIndex.get(requireContext()).applyTo(newsItems);
     }
 
     /**
@@ -522,6 +838,8 @@ public class HomeFragment extends Fragment {
      * 调试方法：统计分类分布
      */
     private void logCategoryDistribution(List<NewsItem> newsItems, String stage) {
+        if (!TraceLog.isEnabled()) return;
+
         Map<String, Integer> categoryCount = new HashMap<>();
         for (NewsItem item : newsItems) {
             String category = item.getCategory();
@@ -529,11 +847,11 @@ public class HomeFragment extends Fragment {
             categoryCount.put(category, categoryCount.getOrDefault(category, 0) + 1);
         }
         
-        Log.d(TAG, "=== " + stage + " 分类统计 ===");
+        TraceLog.d(TAG, "=== {} 分类统计 ===", stage);
         for (Map.Entry<String, Integer> entry : categoryCount.entrySet()) {
-            Log.d(TAG, "分类: " + entry.getKey() + " -> " + entry.getValue() + " 条");
+            TraceLog.d(TAG, "分类: {} -> {} 条", entry.getKey(), entry.getValue());
         }
-        Log.d(TAG, "总计: " + newsItems.size() + " 条新闻");
+        TraceLog.d(TAG, "总计: {} 条新闻", newsItems.size());
     }
 
     /**
@@ -634,6 +952,7 @@ public class HomeFragment extends Fragment {
         
         currentSearchKeyword = keyword;
         currentPage = 1;
+        newsPrefetcher.cancelAll();
         Log.d(TAG, "执行搜索: " + keyword);
         
         // 检查是否为日期格式搜索
@@ -721,8 +1040,9 @@ public class HomeFragment extends Fragment {
      * 加载指定日期的新闻
      */
     private void loadDateNews(String date, boolean refresh) {
-        if (isLoading) return;
-        
+        if (isLoading && !refresh) return;
+
+        cancelCurrentRequest();
         isLoading = true;
         if (refresh) {
             swipeRefreshLayout.setRefreshing(true);
@@ -743,7 +1063,7 @@ public class HomeFragment extends Fragment {
         Log.d(TAG, "  - size: " + params.getSize());
         Log.d(TAG, "  - page: " + params.getPage());
         
-        newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
+        currentRequest = viewRequests.track(newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
             @Override
             public void onSuccess(NewsResponse response) {
                 if (getActivity() != null) {
@@ -767,13 +1087,8 @@ public class HomeFragment extends Fragment {
                             // 根据当前分类过滤新闻
                             List<NewsItem> filteredNews = filterNewsByCategory(newsItems, currentCategory);
 
-                            if (refresh) {
-                                newsList.addAll(filteredNews);
-                                newsAdapter.setNewsList(newsList);
-                            } else {
-                                newsList.addAll(filteredNews);
-                                newsAdapter.addNews(filteredNews);
-                            }
+                            newsList.addAll(filteredNews);
+                            newsAdapter.setNewsList(newsList);
 
                             currentPage++;
                             Log.d(TAG, "找到 " + filteredNews.size() + " 条 " + date + " 的新闻");
@@ -825,24 +1140,31 @@ public class HomeFragment extends Fragment {
                     });
                 }
             }
-        });
+        }));
     }
 
     /**
      * 加载搜索新闻
      */
     private void loadSearchNews(String keywords, boolean refresh) {
-        if (isLoading) return;
-        
+        if (isLoading && !refresh) return;
+
+        cancelCurrentRequest();
         isLoading = true;
         if (refresh) {
+            currentPage = 1;
             swipeRefreshLayout.setRefreshing(true);
+            searchGeneration++;
+            localSearchHits.clear();
+            searchListShown = false;
+            // 本地全文索引与API搜索并行，先展示本地命中的结果
+            showLocalSearchResults(keywords, searchGeneration);
         }
 
         NewsApiService.NewsRequestParams params = 
             NewsApiService.getSearchParams(keywords, currentCategory, currentPage);
         
-        newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
+        currentRequest = viewRequests.track(newsApiService.getNewsList(params, new NewsApiService.NewsCallback() {
             @Override
             public void onSuccess(NewsResponse response) {
                 if (getActivity() != null) {
@@ -853,25 +1175,13 @@ public class HomeFragment extends Fragment {
                             bottomLoadingIndicator.setVisibility(View.GONE);
                         }
 
-                        if (refresh) {
-                            newsList.clear();
-                            newsAdapter.clearNews();
-                        }
-
+                        List<NewsItem> filteredNews = new ArrayList<>();
                         if (response.getData() != null && !response.getData().isEmpty()) {
                             List<NewsItem> newsItems = response.getData();
                             updateNewsStatus(newsItems);
 
                             // 根据搜索关键词进一步过滤
-                            List<NewsItem> filteredNews = filterNewsByKeyword(newsItems, keywords);
-
-                            if (refresh) {
-                                newsList.addAll(filteredNews);
-                                newsAdapter.setNewsList(newsList);
-                            } else {
-                                newsList.addAll(filteredNews);
-                                newsAdapter.addNews(filteredNews);
-                            }
+                            filteredNews = filterNewsByKeyword(newsItems, keywords);
 
                             currentPage++;
                             Log.d(TAG, "搜索到 " + filteredNews.size() + " 条相关新闻");
@@ -879,6 +1189,16 @@ public class HomeFragment extends Fragment {
                             Log.d(TAG, "搜索 '" + keywords + "' 无结果");
                         }
 
+                        // 刷新时以本地命中为底，API结果覆盖同ID的条目；API无结果时保留本地命中
+                        List<NewsItem> base = refresh ? localSearchHits : newsList;
+                        List<NewsItem> merged = mergeByNewsId(base, filteredNews, true);
+                        newsList.clear();
+                        newsList.addAll(merged);
+                        newsAdapter.setNewsList(newsList);
+                        if (refresh) {
+                            searchListShown = true;
+                        }
+
                         updateEmptyState();
                     });
                 }
@@ -893,14 +1213,77 @@ public class HomeFragment extends Fragment {
                         if (bottomLoadingIndicator != null) {
                             bottomLoadingIndicator.setVisibility(View.GONE);
                         }
+                        // 列表不动：已展示的本地命中继续保留，稍后到达的本地命中仍会展示
                         Toast.makeText(getContext(), "搜索失败: " + error, Toast.LENGTH_SHORT).show();
                         Log.e(TAG, "搜索新闻失败: " + error);
                     });
                 }
             }
+        }));
+    }
+
+    /**
+     * 在本地缓存中检索关键词，API结果返回前先展示；离线时API失败也能保留这些结果
+     */
+    private void showLocalSearchResults(String keywords, int generation) {
+        String category = currentCategory;
+        NewsRepository.get().search(keywords, OFFLINE_PAGE_SIZE, items -> {
+            List<NewsItem> matched = new ArrayList<>();
+            for (NewsItem item : items) {
+                if ("全部".equals(category) || category.equals(item.getCategory())) {
+                    matched.add(item);
+                }
+            }
+            if (getActivity() == null) return;
+            getActivity().runOnUiThread(() -> {
+                // 用户已发起新的搜索或退出了搜索
+                if (!isAdded() || generation != searchGeneration || !keywords.equals(currentSearchKeyword)
+                        || !category.equals(currentCategory) || matched.isEmpty()) return;
+
+                updateNewsStatus(matched);
+                localSearchHits.clear();
+                localSearchHits.addAll(matched);
+                // API结果已展示时只补充本地独有的条目，同ID以API为准
+                List<NewsItem> base = searchListShown ? newsList : new ArrayList<>();
+                List<NewsItem> merged = mergeByNewsId(base, matched, false);
+                newsList.clear();
+                newsList.addAll(merged);
+                searchListShown = true;
+                newsAdapter.setNewsList(newsList);
+                updateEmptyState();
+                Log.d(TAG, "本地检索 '" + keywords + "' 命中 " + matched.size() + " 条");
+            });
         });
     }
 
+    /**
+     * 按 newsId 合并两组新闻，保持已有顺序，新条目追加在后；
+     * incomingWins 为 true 时同ID以 incoming 为准，否则保留 base 中的条目
+     */
+    private static List<NewsItem> mergeByNewsId(List<NewsItem> base, List<NewsItem> incoming, boolean incomingWins) {
+        Map<String, NewsItem> merged = new LinkedHashMap<>();
+        List<NewsItem> withoutId = new ArrayList<>();
+        for (NewsItem item : base) {
+            if (item.getNewsId() == null) {
+                withoutId.add(item);
+            } else {
+                merged.put(item.getNewsId(), item);
+            }
+        }
+        for (NewsItem item : incoming) {
+            if (item.getNewsId() == null) {
+                withoutId.add(item);
+            } else if (incomingWins) {
+                merged.put(item.getNewsId(), item);
+            } else {
+                merged.putIfAbsent(item.getNewsId(), item);
+            }
+        }
+        List<NewsItem> combined = new ArrayList<>(merged.values());
+        combined.addAll(withoutId);
+        return combined;
+    }
+
     /**
      * 根据关键词过滤新闻
      */
@@ -922,6 +1305,33 @@ public class HomeFragment extends Fragment {
         return filtered;
     }
 
+    /**
+     * 取消当前正在进行的列表请求
+     */
+    private void cancelCurrentRequest() {
+        if (currentRequest != null) {
+            currentRequest.cancel();
+            currentRequest = null;
+        }
+        isLoading = false;
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        // 进入后台时保存当前分类的快照，下次启动先显示
+        saveSnapshot();
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // 视图销毁时视图生命周期会自动取消请求，这里同步清理预取和加载状态
+        newsPrefetcher.cancelAll();
+        currentRequest = null;
+        isLoading = false;
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
@@ -22,18 +22,26 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.java.lisuofu.R;
+import com.java.lisuofu.data.NewsRepository;
 import com.java.lisuofu.ui.activity.NewsDetailActivity;
 import com.java.lisuofu.ui.adapter.NewsAdapter;
 import com.java.lisuofu.model.NewsItem;
 import com.java.lisuofu.model.NewsResponse;
 import com.java.lisuofu.service.NewsApiService;
+import com.java.lisuofu.service.RequestHandle;
+import com.java.lisuofu.ui.RequestTracker;
+import com.java.lisuofu.util.TraceLog;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SearchFragment extends Fragment {
     private static final String TAG = "SearchFragment";
+    private static final int LOCAL_SEARCH_LIMIT = 50;
 
     private View rootView;
     private EditText searchEditText;
@@ -42,7 +50,13 @@ public class SearchFragment extends Fragment {
     private TextView emptyTextView;
     
     private NewsAdapter newsAdapter;
+    private NewsApiService newsApiService;
+    private RequestTracker viewRequests;
+    private RequestHandle currentSearch;
     private List<NewsItem> searchResults;
+    // 每次新搜索或重置时递增，丢弃过期的回调
+    private int searchGeneration = 0;
+    private boolean apiSearchFinished = false;
 
     @Nullable
     @Override
@@ -51,6 +65,7 @@ public class SearchFragment extends Fragment {
         
         // 初始化数据
         searchResults = new ArrayList<>();
+        newsApiService = new NewsApiService();
         
         initViews();
         setupRecyclerView();
@@ -58,6 +73,13 @@ public class SearchFragment extends Fragment {
         return rootView;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        // 离开页面时自动取消未完成的搜索
+        viewRequests = RequestTracker.bindTo(getViewLifecycleOwner());
+    }
+
     private void initViews() {
         searchEditText = rootView.findViewById(R.id.search_edit_text);
         searchButton = rootView.findViewById(R.id.search_button);
@@ -69,6 +91,7 @@ public class SearchFragment extends Fragment {
         newsAdapter = new NewsAdapter(getContext());
         searchResultRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         searchResultRecyclerView.setAdapter(newsAdapter);
+        newsAdapter.attachImagePreloader(searchResultRecyclerView);
         
         // 设置新闻项点击监听器
         newsAdapter.setOnNewsItemClickListener(new NewsAdapter.OnNewsItemClickListener() {
@@ -108,6 +131,7 @@ public class SearchFragment extends Fragment {
      */
     private void resetToDefaultState() {
         Log.d(TAG, "重置搜索页面到默认状态");
+        cancelCurrentSearch();
         
         // 清空搜索结果
         searchResults.clear();
@@ -191,7 +215,7 @@ public class SearchFragment extends Fragment {
     }
 
     private void performSearch(String query) {
-        Log.d(TAG, "开始API搜索: " + query);
+        Log.d(TAG, "开始搜索: " + query);
         
         // 显示搜索中状态
         searchResults.clear();
@@ -199,12 +223,20 @@ public class SearchFragment extends Fragment {
         searchResultRecyclerView.setVisibility(View.GONE);
         emptyTextView.setVisibility(View.VISIBLE);
         emptyTextView.setText("搜索中...");
-        
-        NewsApiService newsApiService = new NewsApiService();
+
+        // 新的搜索开始时取消上一次还没返回的搜索
+        cancelCurrentSearch();
+        int generation = searchGeneration;
+
+        // 本地全文索引与API搜索并行，本地结果通常先返回
+        NewsRepository.get().search(query, LOCAL_SEARCH_LIMIT, items -> {
+            Log.d(TAG, "本地检索找到 " + items.size() + " 条结果");
+            mergeSearchResults(generation, sortByRelevanceScore(items, query), query, false);
+        });
         
         // 进行API关键词搜索
         NewsApiService.NewsRequestParams searchParams = NewsApiService.getSearchParams(query, null, 1);
-        newsApiService.getNewsList(searchParams, new NewsApiService.NewsCallback() {
+        currentSearch = viewRequests.track(newsApiService.getNewsList(searchParams, new NewsApiService.NewsCallback() {
             @Override
             public void onSuccess(NewsResponse response) {
                 if (response != null && response.getData() != null) {
@@ -214,36 +246,71 @@ public class SearchFragment extends Fragment {
                     List<NewsItem> sortedResults = sortByRelevanceScore(response.getData(), query);
                     
                     // 更新UI
-                    updateSearchResults(sortedResults, query);
+                    mergeSearchResults(generation, sortedResults, query, true);
                 } else {
                     // 没有搜索结果
-                    updateSearchResults(new ArrayList<>(), query);
+                    mergeSearchResults(generation, new ArrayList<>(), query, true);
                 }
             }
 
             @Override
             public void onError(String error) {
                 Log.e(TAG, "API搜索失败: " + error);
-                // 搜索失败，显示空结果
-                updateSearchResults(new ArrayList<>(), query);
+                // 搜索失败，只保留本地结果
+                mergeSearchResults(generation, new ArrayList<>(), query, true);
             }
-        });
+        }));
+    }
+
+    private void cancelCurrentSearch() {
+        searchGeneration++;
+        apiSearchFinished = false;
+        if (currentSearch != null) {
+            currentSearch.cancel();
+            currentSearch = null;
+        }
     }
     
     /**
-     * 更新搜索结果UI
+     * 把本地或API的结果合并进当前列表，按新闻ID去重（API的数据优先），再按相关度排序
+     * fromApi 为 true 表示API搜索已结束
      */
-    private void updateSearchResults(List<NewsItem> results, String query) {
+    private void mergeSearchResults(int generation, List<NewsItem> results, String query, boolean fromApi) {
         if (getActivity() != null) {
             getActivity().runOnUiThread(() -> {
+                // 已开始新的搜索或已重置
+                if (generation != searchGeneration || !isAdded()) return;
+
+                List<NewsItem> preferred = fromApi ? results : new ArrayList<>(searchResults);
+                List<NewsItem> others = fromApi ? new ArrayList<>(searchResults) : results;
+                Map<String, NewsItem> merged = new LinkedHashMap<>();
+                List<NewsItem> withoutId = new ArrayList<>();
+                for (List<NewsItem> source : Arrays.asList(preferred, others)) {
+                    for (NewsItem item : source) {
+                        if (item.getNewsId() == null) {
+                            withoutId.add(item);
+                        } else {
+                            merged.putIfAbsent(item.getNewsId(), item);
+                        }
+                    }
+                }
+                List<NewsItem> combined = new ArrayList<>(merged.values());
+                combined.addAll(withoutId);
+                Collections.sort(combined, (o1, o2) -> Double.compare(o2.getTotalKeywordScore(), o1.getTotalKeywordScore()));
+
                 searchResults.clear();
-                searchResults.addAll(results);
+                searchResults.addAll(combined);
                 newsAdapter.setNewsList(searchResults);
+                if (fromApi) {
+                    apiSearchFinished = true;
+                }
+                // API返回前本地没有命中时保持"搜索中"
+                if (!apiSearchFinished && searchResults.isEmpty()) return;
                 updateEmptyState();
                 
-                Log.d(TAG, "最终搜索完成，共找到 " + results.size() + " 条结果");
+                Log.d(TAG, (apiSearchFinished ? "最终搜索完成" : "本地结果先行展示") + "，共 " + searchResults.size() + " 条结果");
                 
-                if (results.isEmpty()) {
+                if (fromApi && searchResults.isEmpty()) {
                     Toast.makeText(getContext(), "未找到包含 \"" + query + "\" 的相关新闻", Toast.LENGTH_SHORT).show();
                 }
             });
@@ -280,12 +347,13 @@ public class SearchFragment extends Fragment {
         double totalScore = 0.0;
         String searchLower = searchQuery.toLowerCase();
         String[] searchWords = searchLower.split("\\s+");
+        boolean trace = TraceLog.isEnabled();
         
-        Log.d(TAG, "计算相关度: " + newsItem.getTitle() + " -> 搜索词: " + searchQuery);
+        TraceLog.d(TAG, "计算相关度: {} -> 搜索词: {}", newsItem.getTitle(), searchQuery);
         
         // 1. 关键词匹配得分（使用API返回的keywords和score）
         if (newsItem.getKeywords() != null && !newsItem.getKeywords().isEmpty()) {
-            Log.d(TAG, "新闻关键词数量: " + newsItem.getKeywords().size());
+            if (trace) TraceLog.d(TAG, "新闻关键词数量: {}", newsItem.getKeywords().size());
             for (NewsItem.Keyword keyword : newsItem.getKeywords()) {
                 String keywordText = keyword.getWord().toLowerCase();
                 double keywordScore = keyword.getScore();
@@ -294,7 +362,7 @@ public class SearchFragment extends Fragment {
                     if (keywordText.contains(searchWord) || searchWord.contains(keywordText)) {
                         double addedScore = keywordScore * 100.0; // 将API的0-1分数转换为更大权重
                         totalScore += addedScore;
-                        Log.d(TAG, "关键词匹配: '" + keyword.getWord() + "' (分数:" + keywordScore + ") -> 加分: " + addedScore);
+                        if (trace) TraceLog.d(TAG, "关键词匹配: '{}' (分数:{}) -> 加分: {}", keyword.getWord(), keywordScore, addedScore);
                         break;
                     }
                 }
@@ -308,7 +376,7 @@ public class SearchFragment extends Fragment {
             // 完全匹配整个搜索词
             if (titleLower.contains(searchLower)) {
                 totalScore += 50.0;
-                Log.d(TAG, "标题完全匹配: +" + 50.0);
+                TraceLog.d(TAG, "标题完全匹配: +50.0");
             }
             
             // 单词匹配
@@ -321,7 +389,7 @@ public class SearchFragment extends Fragment {
                     // 如果是标题开头匹配，额外加分
                     if (titleLower.startsWith(searchWord)) {
                         totalScore += 10.0;
-                        Log.d(TAG, "标题开头匹配: +" + 10.0);
+                        TraceLog.d(TAG, "标题开头匹配: +10.0");
                     }
                 }
             }
@@ -329,7 +397,7 @@ public class SearchFragment extends Fragment {
             // 匹配词数量奖励
             if (titleMatches == searchWords.length && searchWords.length > 1) {
                 totalScore += 30.0;
-                Log.d(TAG, "标题全词匹配奖励: +" + 30.0);
+                TraceLog.d(TAG, "标题全词匹配奖励: +30.0");
             }
         }
         
@@ -360,7 +428,7 @@ public class SearchFragment extends Fragment {
             for (String searchWord : searchWords) {
                 if (categoryLower.contains(searchWord)) {
                     totalScore += 15.0; // 提高分类匹配权重
-                    Log.d(TAG, "分类匹配: '" + newsItem.getCategory() + "' -> +" + 15.0);
+                    TraceLog.d(TAG, "分类匹配: '{}' -> +15.0", newsItem.getCategory());
                 }
             }
         }
@@ -375,7 +443,7 @@ public class SearchFragment extends Fragment {
             }
         }
         
-        Log.d(TAG, "最终得分: " + totalScore + " (新闻: " + newsItem.getTitle() + ")");
+        if (trace) TraceLog.d(TAG, "最终得分: {} (新闻: {})", totalScore, newsItem.getTitle());
         return totalScore;
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.java.lisuofu.util;
+
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy;
+import com.bumptech.glide.request.RequestOptions;
+
+/**
+ * 图片解码配置
+ * 列表缩略图数量多、尺寸小，优先省内存；详情页等其他图片保持原始质量。
+ */
+public final class ImageProfiles {
+
+    private ImageProfiles() {
+    }
+
+    /**
+     * 列表缩略图：没有透明通道时解码为 RGB_565（每像素2字节），按视图尺寸下采样后居中裁剪；
+     * 不使用硬件位图，解码出的 Bitmap 可以回收到 Bitmap 池中复用
+     */
+    public static RequestOptions listThumbnail(int sizePx) {
+        return new RequestOptions()
+                .override(sizePx, sizePx)
+                .format(DecodeFormat.PREFER_RGB_565)
+                .downsample(DownsampleStrategy.CENTER_OUTSIDE)
+                .centerCrop()
+                .disallowHardwareConfig();
+    }
+
+    /**
+     * 默认配置（详情页等）：ARGB_8888
+     */
+    public static RequestOptions fullQuality() {
+        return new RequestOptions()
+                .format(DecodeFormat.PREFER_ARGB_8888);
+    }
+}
@@ -0,0 +1,47 @@
+package com.java.lisuofu.util;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+
+/**
+ * 应用级 Glide 配置：内存缓存、Bitmap 池和磁盘缓存的容量，以及默认解码配置
+ */
+@GlideModule
+public final class NewsGlideModule extends AppGlideModule {
+    private static final String TAG = "NewsGlideModule";
+
+    // 列表缩略图很小，内存缓存保留两屏即可
+    private static final float MEMORY_CACHE_SCREENS = 2;
+    private static final float BITMAP_POOL_SCREENS = 3;
+    private static final long DISK_CACHE_BYTES = 100L * 1024 * 1024;
+    private static final String DISK_CACHE_DIR = "news_images";
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, DISK_CACHE_BYTES));
+        // 列表缩略图单独使用 ImageProfiles.listThumbnail，其余图片默认保持原始质量
+        builder.setDefaultRequestOptions(ImageProfiles.fullQuality());
+
+        Log.d(TAG, "内存缓存: " + calculator.getMemoryCacheSize() / 1024 + "KB, Bitmap池: "
+                + calculator.getBitmapPoolSize() / 1024 + "KB");
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.java.lisuofu.util;
+
+import android.graphics.Bitmap;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 列表缩略图解码统计：每行显示的 Bitmap 实际占用字节数，以及按 ARGB_8888 原尺寸解码时的对照值
+ */
+public final class ThumbnailStats {
+
+    private static final ThumbnailStats SHARED = new ThumbnailStats();
+
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final AtomicLong argb8888Bytes = new AtomicLong();
+    private final AtomicLong rgb565Rows = new AtomicLong();
+
+    private ThumbnailStats() {
+    }
+
+    public static ThumbnailStats shared() {
+        return SHARED;
+    }
+
+    /**
+     * 记录一行显示的缩略图
+     */
+    public void record(Bitmap bitmap) {
+        rows.incrementAndGet();
+        decodedBytes.addAndGet(bitmap.getAllocationByteCount());
+        argb8888Bytes.addAndGet((long) bitmap.getWidth() * bitmap.getHeight() * 4);
+        if (bitmap.getConfig() == Bitmap.Config.RGB_565) {
+            rgb565Rows.incrementAndGet();
+        }
+        if (TraceLog.isEnabled()) {
+            TraceLog.d("ThumbnailStats", "缩略图 {}x{} {} {}B",
+                    bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig(), bitmap.getAllocationByteCount());
+        }
+    }
+
+    public void reset() {
+        rows.set(0);
+        decodedBytes.set(0);
+        argb8888Bytes.set(0);
+        rgb565Rows.set(0);
+    }
+
+    public String getStats() {
+        long count = rows.get();
+        if (count == 0) {
+            return "暂无数据";
+        }
+        return String.format(Locale.ROOT, "行数=%d, 平均每行=%.1fKB (ARGB_8888对照 %.1fKB), RGB_565占比=%.0f%%",
+                count,
+                decodedBytes.get() / 1024.0 / count,
+                argb8888Bytes.get() / 1024.0 / count,
+                rgb565Rows.get() * 100.0 / count);
+    }
+}
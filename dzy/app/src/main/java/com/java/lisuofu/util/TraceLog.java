@@ -0,0 +1,140 @@
+package com.java.lisuofu.util;
+
+import android.util.Log;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * 热路径用的轻量追踪日志
+ * 关闭时只做一次 volatile 读就返回：消息用 {} 占位、参数按固定个数传入，
+ * 不拼接字符串、不创建可变参数数组。开启时写入环形缓冲区并同步输出到 logcat，
+ * 缓冲区内容可随时导出排查问题。
+ */
+public final class TraceLog {
+
+    private static final int BUFFER_SIZE = 512;
+
+    private static volatile boolean enabled = false;
+
+    private static final String[] ring = new String[BUFFER_SIZE];
+    private static final long[] ringTimes = new long[BUFFER_SIZE];
+    private static int ringNext = 0;
+    private static long ringTotal = 0;
+
+    private TraceLog() {
+    }
+
+    /**
+     * 开启或关闭追踪（调试包在 Application 启动时开启）
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void d(String tag, String message) {
+        if (!enabled) return;
+        record(tag, message);
+    }
+
+    public static void d(String tag, String pattern, Object arg1) {
+        if (!enabled) return;
+        record(tag, format(pattern, arg1, null, null, null, 1));
+    }
+
+    public static void d(String tag, String pattern, Object arg1, Object arg2) {
+        if (!enabled) return;
+        record(tag, format(pattern, arg1, arg2, null, null, 2));
+    }
+
+    public static void d(String tag, String pattern, Object arg1, Object arg2, Object arg3) {
+        if (!enabled) return;
+        record(tag, format(pattern, arg1, arg2, arg3, null, 3));
+    }
+
+    public static void d(String tag, String pattern, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (!enabled) return;
+        record(tag, format(pattern, arg1, arg2, arg3, arg4, 4));
+    }
+
+    /**
+     * 导出缓冲区中的记录，按时间先后排列
+     */
+    public static String dump() {
+        SimpleDateFormat formatter = new SimpleDateFormat("HH:mm:ss.SSS", Locale.getDefault());
+        StringBuilder builder = new StringBuilder();
+        synchronized (ring) {
+            int count = (int) Math.min(ringTotal, BUFFER_SIZE);
+            int start = (ringNext - count + BUFFER_SIZE) % BUFFER_SIZE;
+            for (int i = 0; i < count; i++) {
+                int index = (start + i) % BUFFER_SIZE;
+                builder.append(formatter.format(new Date(ringTimes[index])))
+                        .append(' ')
+                        .append(ring[index])
+                        .append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 把缓冲区内容覆盖写入文件，耗时统计对话框"导出"时调用
+     */
+    public static void exportTo(File file) throws IOException {
+        String content = dump();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, false), StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+    }
+
+    public static int size() {
+        synchronized (ring) {
+            return (int) Math.min(ringTotal, BUFFER_SIZE);
+        }
+    }
+
+    public static void clear() {
+        synchronized (ring) {
+            Arrays.fill(ring, null);
+            ringNext = 0;
+            ringTotal = 0;
+        }
+    }
+
+    private static void record(String tag, String message) {
+        Log.d(tag, message);
+        synchronized (ring) {
+            ring[ringNext] = tag + ": " + message;
+            ringTimes[ringNext] = System.currentTimeMillis();
+            ringNext = (ringNext + 1) % BUFFER_SIZE;
+            ringTotal++;
+        }
+    }
+
+    private static String format(String pattern, Object arg1, Object arg2, Object arg3, Object arg4, int argCount) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 32);
+        int argIndex = 0;
+        int from = 0;
+        int placeholder;
+        while (argIndex < argCount && (placeholder = pattern.indexOf("{}", from)) >= 0) {
+            builder.append(pattern, from, placeholder);
+            Object arg = argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : argIndex == 2 ? arg3 : arg4;
+            builder.append(arg);
+            argIndex++;
+            from = placeholder + 2;
+        }
+        builder.append(pattern, from, pattern.length());
+        return builder.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.java.lisuofu.model;
+
+import org.junit.Test;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 用约1000条新闻的接口数据验证解析后重复的短字符串共享同一个实例
+ */
+public class InternedFeedTest {
+
+    private static final int ITEM_COUNT = 1000;
+    private static final String[] PUBLISHERS = {"新华社", "人民日报", "央视新闻", "中国新闻网", "澎湃新闻", "环球时报"};
+    private static final String[] CATEGORIES = {"科技", "财经", "体育", "娱乐", "军事", "教育", "文化", "健康", "汽车", "社会"};
+    private static final String[] KEYWORDS = {"人工智能", "芯片", "经济", "比赛", "电影", "高考", "疫苗", "新能源"};
+    private static final String[] PERSONS = {"张三", "李四", "王五", "赵六"};
+
+    @Test
+    public void repeatedStrings_areSharedInstances() {
+        long savedBefore = StringInterner.shared().getBytesSaved();
+
+        NewsResponse response = NewsGson.get().fromJson(feedJson(), NewsResponse.class);
+        List<NewsItem> items = response.getData();
+        assertEquals(ITEM_COUNT, items.size());
+
+        Map<String, Integer> publishers = new IdentityHashMap<>();
+        Map<String, Integer> categories = new IdentityHashMap<>();
+        Map<String, Integer> languages = new IdentityHashMap<>();
+        Map<String, Integer> keywords = new IdentityHashMap<>();
+        Map<String, Integer> mentions = new IdentityHashMap<>();
+        for (NewsItem item : items) {
+            publishers.put(item.getPublisher(), 0);
+            categories.put(item.getCategory(), 0);
+            languages.put(item.getLanguage(), 0);
+            for (NewsItem.Keyword keyword : item.getKeywords()) {
+                keywords.put(keyword.getWord(), 0);
+            }
+            for (NewsItem.Person person : item.getPersons()) {
+                mentions.put(person.getMention(), 0);
+            }
+        }
+
+        // 每个不同的取值只保留一个实例，而不是每条新闻各一份
+        assertEquals(PUBLISHERS.length, publishers.size());
+        assertEquals(CATEGORIES.length, categories.size());
+        assertEquals(1, languages.size());
+        assertEquals(KEYWORDS.length, keywords.size());
+        assertEquals(PERSONS.length, mentions.size());
+        assertTrue(StringInterner.shared().getBytesSaved() > savedBefore);
+    }
+
+    private static String feedJson() {
+        StringBuilder json = new StringBuilder("{\"pageSize\":\"" + ITEM_COUNT + "\",\"total\":" + ITEM_COUNT + ",\"data\":[");
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"newsID\":\"news-").append(i).append('"')
+                    .append(",\"title\":\"标题").append(i).append('"')
+                    .append(",\"publisher\":\"").append(PUBLISHERS[i % PUBLISHERS.length]).append('"')
+                    .append(",\"category\":\"").append(CATEGORIES[i % CATEGORIES.length]).append('"')
+                    .append(",\"language\":\"zh\"")
+                    .append(",\"publishTime\":\"2024-01-01 08:00:00\"")
+                    .append(",\"keywords\":[")
+                    .append("{\"score\":1.0,\"word\":\"").append(KEYWORDS[i % KEYWORDS.length]).append("\"},")
+                    .append("{\"score\":0.5,\"word\":\"").append(KEYWORDS[(i + 3) % KEYWORDS.length]).append("\"}]")
+                    .append(",\"persons\":[{\"count\":1,\"linkedURL\":\"\",\"mention\":\"")
+                    .append(PERSONS[i % PERSONS.length]).append("\"}]}");
+        }
+        return json.append("],\"currentPage\":\"1\"}").toString();
+    }
+}
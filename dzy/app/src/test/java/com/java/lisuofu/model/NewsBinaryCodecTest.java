@@ -0,0 +1,191 @@
+package com.java.lisuofu.model;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * NewsBinaryCodec 编解码与损坏数据的处理
+ */
+public class NewsBinaryCodecTest {
+
+    @Test
+    public void keywords_roundTrip() {
+        List<NewsItem.Keyword> keywords = Arrays.asList(keyword(0.75, "人工智能"), keyword(-1.5, "芯片"));
+
+        byte[] data = NewsConverters.fromKeywordsList(keywords);
+        List<NewsItem.Keyword> decoded = NewsConverters.toKeywordsList(data);
+
+        assertEquals(NewsBinaryCodec.VERSION, data[0]);
+        assertEquals(2, decoded.size());
+        assertEquals(0.75, decoded.get(0).getScore(), 0);
+        assertEquals("人工智能", decoded.get(0).getWord());
+        assertEquals(-1.5, decoded.get(1).getScore(), 0);
+        assertEquals("芯片", decoded.get(1).getWord());
+    }
+
+    @Test
+    public void nullStrings_roundTripAsNull() {
+        NewsItem.Person person = new NewsItem.Person();
+        person.setCount(3);
+        person.setLinkedURL(null);
+        person.setMention("");
+
+        List<NewsItem.Person> decoded = NewsConverters.toPersonsList(
+                NewsConverters.fromPersonsList(Collections.singletonList(person)));
+
+        assertNull(decoded.get(0).getLinkedURL());
+        assertEquals("", decoded.get(0).getMention());
+    }
+
+    @Test
+    public void zigzagInts_roundTrip() {
+        int[] values = {0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        List<NewsItem.Organization> organizations = new ArrayList<>();
+        for (int value : values) {
+            NewsItem.Organization organization = new NewsItem.Organization();
+            organization.setCount(value);
+            organizations.add(organization);
+        }
+
+        List<NewsItem.Organization> decoded = NewsConverters.toOrganizationsList(
+                NewsConverters.fromOrganizationsList(organizations));
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], decoded.get(i).getCount());
+        }
+    }
+
+    @Test
+    public void zigzagInts_smallMagnitudeUsesOneByte() {
+        NewsBinaryCodec.Output out = new NewsBinaryCodec.Output(16);
+        out.writeInt(-1);
+        out.writeInt(63);
+        out.writeInt(-64);
+
+        assertArrayEquals(new byte[]{1, 126, 127}, out.toByteArray());
+    }
+
+    @Test
+    public void legacyJson_isStillReadable() {
+        byte[] json = "[{\"score\":2.0,\"word\":\"北京\"}]".getBytes(StandardCharsets.UTF_8);
+
+        List<NewsItem.Keyword> decoded = NewsConverters.toKeywordsList(json);
+
+        assertEquals(1, decoded.size());
+        assertEquals(2.0, decoded.get(0).getScore(), 0);
+        assertEquals("北京", decoded.get(0).getWord());
+    }
+
+    @Test
+    public void legacyJson_persons() {
+        byte[] json = "[{\"count\":2,\"linkedURL\":\"http://example.com\",\"mention\":\"张三\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+
+        List<NewsItem.Person> decoded = NewsConverters.toPersonsList(json);
+
+        assertEquals(2, decoded.get(0).getCount());
+        assertEquals("http://example.com", decoded.get(0).getLinkedURL());
+        assertEquals("张三", decoded.get(0).getMention());
+    }
+
+    @Test
+    public void decodeItems_roundTrip() {
+        NewsItem item = new NewsItem();
+        item.setNewsId("id-1");
+        item.setTitle("标题");
+        item.setContent("正文");
+        item.setImage(null);
+        item.setCategory("科技");
+        item.setPublishTime("2024-01-01 08:00:00");
+        item.setKeywords(Collections.singletonList(keyword(1.0, "关键词")));
+        NewsItem.Location location = new NewsItem.Location();
+        location.setLongitude(116.4);
+        location.setLatitude(39.9);
+        location.setMention("北京");
+        item.setLocations(Collections.singletonList(location));
+        item.setRead(true);
+
+        List<NewsItem> decoded = NewsBinaryCodec.decodeItems(NewsBinaryCodec.encodeItems(Arrays.asList(item, new NewsItem())));
+
+        assertEquals(2, decoded.size());
+        NewsItem first = decoded.get(0);
+        assertEquals("id-1", first.getNewsId());
+        assertEquals("标题", first.getTitle());
+        assertEquals("正文", first.getContent());
+        assertNull(first.getImage());
+        assertEquals("科技", first.getCategory());
+        assertEquals("2024-01-01 08:00:00", first.getPublishTime());
+        assertEquals("关键词", first.getKeywords().get(0).getWord());
+        assertEquals(116.4, first.getLocations().get(0).getLongitude(), 0);
+        assertEquals(39.9, first.getLocations().get(0).getLatitude(), 0);
+        // 本地状态不进入快照
+        assertTrue(!first.isRead());
+        assertNull(decoded.get(1).getTitle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeItems_rejectsLegacyData() {
+        NewsBinaryCodec.decodeItems("[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void decodeItems_truncatedInputThrows() {
+        NewsItem item = new NewsItem();
+        item.setNewsId("id-1");
+        item.setTitle("一个足够长的标题");
+        byte[] data = NewsBinaryCodec.encodeItems(Collections.singletonList(item));
+
+        for (int length = 1; length < data.length; length++) {
+            try {
+                NewsBinaryCodec.decodeItems(Arrays.copyOf(data, length));
+                fail("截断到 " + length + " 字节时应当失败");
+            } catch (IllegalArgumentException expected) {
+                // 预期
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeItems_hugeCountThrows() {
+        // 元素个数为 Integer.MAX_VALUE，但后面没有数据
+        NewsBinaryCodec.decodeItems(new byte[]{NewsBinaryCodec.VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hugeStringLengthThrows() {
+        // 一个元素：score 8字节，字符串长度声明为约2亿字节
+        byte[] data = {NewsBinaryCodec.VERSION, 1, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x60};
+        NewsBinaryCodec.decode(data, NewsBinaryCodec.KEYWORD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void overlongVarintThrows() {
+        byte[] data = {NewsBinaryCodec.VERSION, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        NewsBinaryCodec.decode(data, NewsBinaryCodec.KEYWORD);
+    }
+
+    @Test
+    public void corruptColumn_readsAsNull() {
+        byte[] data = {NewsBinaryCodec.VERSION, 3, 0};
+
+        assertNull(NewsConverters.toKeywordsList(data));
+    }
+
+    private static NewsItem.Keyword keyword(double score, String word) {
+        NewsItem.Keyword keyword = new NewsItem.Keyword();
+        keyword.setScore(score);
+        keyword.setWord(word);
+        return keyword;
+    }
+}
@@ -0,0 +1,105 @@
+package com.java.lisuofu.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 手写 TypeAdapter 与原先反射序列化的字段名保持兼容
+ */
+public class NewsTypeAdaptersTest {
+
+    @Test
+    public void write_usesLegacyFieldNames() {
+        JsonObject json = JsonParser.parseString(NewsGson.get().toJson(sampleItem())).getAsJsonObject();
+
+        assertEquals("id-1", json.get("newsID").getAsString());
+        assertFalse(json.has("newsId"));
+        assertTrue(json.has("when"));
+        assertTrue(json.has("who"));
+        assertTrue(json.get("isFavorite").getAsBoolean());
+        assertEquals(1700000000000L, json.get("favoriteTime").getAsLong());
+        assertEquals(1690000000000L, json.get("readTime").getAsLong());
+    }
+
+    @Test
+    public void roundTrip_keepsAllFields() {
+        NewsItem decoded = NewsGson.get().fromJson(NewsGson.get().toJson(sampleItem()), NewsItem.class);
+
+        assertItemMatches(decoded);
+    }
+
+    @Test
+    public void read_acceptsReflectionOutput() {
+        // 旧版本缓存由不带适配器的 Gson 反射写出
+        String legacy = new Gson().toJson(sampleItem());
+
+        NewsItem decoded = NewsGson.get().fromJson(legacy, NewsItem.class);
+
+        assertItemMatches(decoded);
+    }
+
+    @Test
+    public void reflection_readsAdapterOutput() {
+        NewsItem decoded = new Gson().fromJson(NewsGson.get().toJson(sampleItem()), NewsItem.class);
+
+        assertItemMatches(decoded);
+    }
+
+    private static void assertItemMatches(NewsItem item) {
+        assertEquals("id-1", item.getNewsId());
+        assertEquals("标题", item.getTitle());
+        assertEquals("科技", item.getCategory());
+        assertEquals("人工智能", item.getKeywords().get(0).getWord());
+        assertEquals("张三", item.getPersons().get(0).getMention());
+        assertEquals("明天", item.getTimeReferences().get(0).getWord());
+        assertEquals("李四", item.getPersonReferences().get(0).getWord());
+        assertTrue(item.isRead());
+        assertTrue(item.isFavorite());
+        assertEquals(1690000000000L, item.getReadTime());
+        assertEquals(1700000000000L, item.getFavoriteTime());
+        assertEquals("摘要", item.getAiSummary());
+    }
+
+    private static NewsItem sampleItem() {
+        NewsItem item = new NewsItem();
+        item.setNewsId("id-1");
+        item.setTitle("标题");
+        item.setCategory("科技");
+
+        NewsItem.Keyword keyword = new NewsItem.Keyword();
+        keyword.setScore(0.9);
+        keyword.setWord("人工智能");
+        item.setKeywords(Collections.singletonList(keyword));
+
+        NewsItem.Person person = new NewsItem.Person();
+        person.setCount(2);
+        person.setMention("张三");
+        item.setPersons(Collections.singletonList(person));
+
+        NewsItem.TimeReference time = new NewsItem.TimeReference();
+        time.setScore(1.0);
+        time.setWord("明天");
+        item.setTimeReferences(Collections.singletonList(time));
+
+        NewsItem.PersonReference who = new NewsItem.PersonReference();
+        who.setScore(1.0);
+        who.setWord("李四");
+        item.setPersonReferences(Collections.singletonList(who));
+
+        item.setRead(true);
+        item.setFavorite(true);
+        item.setReadTime(1690000000000L);
+        item.setFavoriteTime(1700000000000L);
+        item.setAiSummary("摘要");
+        return item;
+    }
+}
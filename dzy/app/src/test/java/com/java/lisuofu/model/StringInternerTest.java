@@ -0,0 +1,73 @@
+package com.java.lisuofu.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * StringInterner 的命中、未命中与长度上限
+ */
+public class StringInternerTest {
+
+    @Test
+    public void equalString_returnsPooledInstance() {
+        StringInterner interner = new StringInterner(64);
+        String first = new String("科技");
+        String second = new String("科技");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertEquals(2, interner.getLookupCount());
+        assertEquals(1, interner.getHitCount());
+        assertEquals(0.5, interner.getHitRate(), 0);
+        assertEquals(40 + 2 * 2, interner.getBytesSaved());
+    }
+
+    @Test
+    public void differentStrings_miss() {
+        StringInterner interner = new StringInterner(64);
+
+        interner.intern(new String("新华社"));
+        String other = new String("人民日报");
+
+        assertSame(other, interner.intern(other));
+        assertEquals(0, interner.getHitCount());
+        assertEquals(0, interner.getHitRate(), 0);
+        assertEquals(0, interner.getBytesSaved());
+    }
+
+    @Test
+    public void longString_bypassesPool() {
+        StringInterner interner = new StringInterner(64);
+        String atLimit = repeat('a', 64);
+        String tooLong = repeat('b', 65);
+
+        interner.intern(atLimit);
+        assertSame(atLimit, interner.intern(new String(atLimit)));
+
+        interner.intern(tooLong);
+        String copy = new String(tooLong);
+        assertSame(copy, interner.intern(copy));
+        // 超过64个字符的字符串不计入查找
+        assertEquals(2, interner.getLookupCount());
+        assertEquals(1, interner.getHitCount());
+    }
+
+    @Test
+    public void nullPassesThrough() {
+        StringInterner interner = new StringInterner(64);
+
+        assertNull(interner.intern(null));
+        assertEquals(0, interner.getLookupCount());
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}